@@ -0,0 +1,63 @@
+/*------------------------------------------------------------------------------
+ Copyright (c) Railcraft Reborn, 2023+
+
+ This work (the API) is licensed under the "MIT" License,
+ see LICENSE.md for details.
+ -----------------------------------------------------------------------------*/
+package mods.railcraft.api.carts;
+
+import java.util.Collection;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.vehicle.AbstractMinecart;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
+
+/**
+ * Keeps track of the block each minecart occupies, so that blocks and block entities can find the
+ * carts on a stretch of track without searching the level for entities.
+ *
+ * <p>
+ * The occupied block is the cart's {@link AbstractMinecart#blockPosition() block position}, which
+ * is updated as the cart ticks on the logical server.
+ *
+ * @see CartUtil#occupancy(ServerLevel)
+ */
+public interface CartOccupancy {
+
+  /**
+   * Retrieves the carts currently occupying the specified block.
+   *
+   * @param pos - the block to check
+   * @return an unmodifiable view of the carts at that block
+   */
+  Collection<AbstractMinecart> cartsAt(BlockPos pos);
+
+  /**
+   * Starts tracking the carts occupying the specified box. The zone keeps its carts up to date as
+   * they move, until it is {@link Zone#release() released}.
+   *
+   * @param box - the blocks covered by the zone, inclusive
+   * @return the new zone
+   */
+  Zone createZone(BoundingBox box);
+
+  interface Zone {
+
+    BoundingBox box();
+
+    /**
+     * @return an unmodifiable, live view of the carts occupying this zone
+     */
+    Collection<AbstractMinecart> carts();
+
+    /**
+     * Stops tracking this zone. Must be called once the zone is no longer needed.
+     */
+    void release();
+  }
+
+  interface Provider {
+
+    CartOccupancy occupancy(ServerLevel level);
+  }
+}
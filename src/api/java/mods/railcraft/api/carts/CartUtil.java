@@ -0,0 +1,31 @@
+/*------------------------------------------------------------------------------
+ Copyright (c) Railcraft Reborn, 2023+
+
+ This work (the API) is licensed under the "MIT" License,
+ see LICENSE.md for details.
+ -----------------------------------------------------------------------------*/
+package mods.railcraft.api.carts;
+
+import java.util.Objects;
+import org.jetbrains.annotations.ApiStatus;
+import com.google.common.base.Preconditions;
+import net.minecraft.server.level.ServerLevel;
+
+public final class CartUtil {
+
+  private static CartOccupancy.Provider occupancyProvider;
+
+  private CartUtil() {}
+
+  public static CartOccupancy occupancy(ServerLevel level) {
+    Objects.requireNonNull(occupancyProvider);
+    return occupancyProvider.occupancy(level);
+  }
+
+  @ApiStatus.Internal
+  public static void _setOccupancyProvider(CartOccupancy.Provider occupancyProvider) {
+    Preconditions.checkState(CartUtil.occupancyProvider == null,
+        "occupancyProvider is already set.");
+    CartUtil.occupancyProvider = occupancyProvider;
+  }
+}
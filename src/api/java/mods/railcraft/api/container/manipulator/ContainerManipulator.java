@@ -6,6 +6,7 @@ import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 import net.minecraft.core.BlockPos;
@@ -215,6 +216,47 @@ public interface ContainerManipulator<T extends SlotAccessor> extends Iterable<T
         .orElse(ItemStack.EMPTY);
   }
 
+  /**
+   * Moves up to maxAmount items matching the filter to another inventory, whole stacks at a time,
+   * in a single pass over the slots.
+   *
+   * @param dest the destination inventory
+   * @param maxAmount the maximum number of items to move
+   * @param filter the filter to match against
+   * @param moved notified of each stack moved
+   * @return the number of items moved
+   */
+  default int moveItemsTo(ContainerManipulator<?> dest, int maxAmount,
+      Predicate<ItemStack> filter, Consumer<ItemStack> moved) {
+    var remaining = maxAmount;
+    var it = this.iterator();
+    while (remaining > 0 && it.hasNext()) {
+      var slot = it.next();
+      if (slot.isEmpty() || !slot.matches(filter)) {
+        continue;
+      }
+      var available = slot.simulateExtract(remaining);
+      if (available.isEmpty()) {
+        continue;
+      }
+      var amount = available.getCount() - dest.insert(available, true).getCount();
+      if (amount <= 0) {
+        continue;
+      }
+      var extracted = slot.extract(amount, false);
+      var leftover = dest.insert(extracted, false);
+      if (!leftover.isEmpty()) {
+        slot.insert(leftover, false);
+      }
+      var count = extracted.getCount() - leftover.getCount();
+      if (count > 0) {
+        moved.accept(extracted.copyWithCount(count));
+        remaining -= count;
+      }
+    }
+    return maxAmount - remaining;
+  }
+
   /**
    * Checks if inventory will accept any item from the list.
    *
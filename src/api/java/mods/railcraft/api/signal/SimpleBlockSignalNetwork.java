@@ -14,14 +14,15 @@ import java.util.function.Consumer;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import com.mojang.logging.LogUtils;
+import mods.railcraft.api.carts.CartOccupancy;
+import mods.railcraft.api.carts.CartUtil;
 import mods.railcraft.api.track.TrackScanUtil;
 import net.minecraft.core.BlockPos;
 import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.util.Mth;
-import net.minecraft.world.entity.EntitySelector;
-import net.minecraft.world.entity.vehicle.AbstractMinecart;
 import net.minecraft.world.level.block.entity.BlockEntity;
-import net.minecraft.world.phys.AABB;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
 
 public class SimpleBlockSignalNetwork extends BlockEntitySignalNetwork<BlockSignalEntity>
     implements BlockSignal {
@@ -31,7 +32,14 @@ public class SimpleBlockSignalNetwork extends BlockEntitySignalNetwork<BlockSign
   public static final int SIGNAL_VALIDATION_INTERVAL = 4 * 60 * 20;
   private final Set<BlockPos> signalsToRevalidate = new HashSet<>();
 
-  private final Map<BlockPos, TrackScanUtil.Result> trackScans = new HashMap<>();
+  /**
+   * The far ends of the track sections we have scanned, so they can be forgotten once removed.
+   */
+  private final Set<BlockPos> scannedSections = new HashSet<>();
+  /**
+   * Occupancy zones covering the track between us and each peer, keyed by peer position.
+   */
+  private final Map<BlockPos, CartOccupancy.Zone> sectionZones = new HashMap<>();
   private final TrackLocator trackLocator;
 
   private int aspectUpdateTimer = 0;
@@ -78,22 +86,17 @@ public class SimpleBlockSignalNetwork extends BlockEntitySignalNetwork<BlockSign
     assert trackPos != null;
     assert peerTrackPos != null;
 
-    var result = TrackScanUtil.scanStraightTrackSection(this.getLevel(), trackPos, peerTrackPos);
+    var result = this.scanTrackSection(trackPos, peerTrackPos);
     if (!result.status().valid()) {
       return false;
     }
 
-    if (!super.addPeer(peer)) {
-      return false;
-    }
-
-    this.trackScans.put(peerTrackPos, result);
-
-    return true;
+    return super.addPeer(peer);
   }
 
   @Override
   public boolean removePeer(BlockPos peerPos) {
+    this.releaseSectionZone(peerPos);
     if (super.removePeer(peerPos)) {
       var blockSignalProvider = this.getBlockEntity(peerPos);
       if (blockSignalProvider != null) {
@@ -104,6 +107,21 @@ public class SimpleBlockSignalNetwork extends BlockEntitySignalNetwork<BlockSign
     return false;
   }
 
+  /**
+   * Releases the resources held by this network, must be called when the owning block entity is
+   * removed or unloaded.
+   */
+  public void removed() {
+    this.sectionZones.values().forEach(CartOccupancy.Zone::release);
+    this.sectionZones.clear();
+    var trackPos = this.trackLocator.trackPos();
+    if (trackPos != null && this.getLevel() instanceof ServerLevel level) {
+      var sections = TrackScanUtil.sections(level);
+      this.scannedSections.forEach(otherTrack -> sections.forget(trackPos, otherTrack));
+    }
+    this.scannedSections.clear();
+  }
+
   @Override
   public void refresh() {
     super.refresh();
@@ -136,8 +154,10 @@ public class SimpleBlockSignalNetwork extends BlockEntitySignalNetwork<BlockSign
       return SignalAspect.YELLOW;
     }
 
-    var scan = this.getOrCreateTrackScan(otherTrack);
-    if (scan == null) {
+    // Sections are rescanned as soon as a block along them changes, so a break shows up here
+    // long before the peer is dropped by validation
+    var scan = this.scanTrackSection(trackPos, otherTrack);
+    if (!scan.status().valid() && !scan.status().unknown()) {
       return SignalAspect.RED;
     }
 
@@ -154,12 +174,17 @@ public class SimpleBlockSignalNetwork extends BlockEntitySignalNetwork<BlockSign
     int xOffset = otherTrack.getX() > trackPos.getX() ? -3 : 3;
     int zOffset = otherTrack.getZ() > trackPos.getZ() ? -3 : 3;
 
-    var carts = this.getLevel().getEntitiesOfClass(AbstractMinecart.class,
-        new AABB(x1, y1, z1, x2, y2, z2),
-        EntitySelector.ENTITY_STILL_ALIVE);
+    var zone = this.getOrCreateSectionZone(peer.asBlockEntity().getBlockPos(),
+        new BoundingBox(x1, y1, z1, x2 - 1, y2 - 1, z2 - 1));
+    if (zone == null) {
+      return SignalAspect.RED;
+    }
 
     var newAspect = SignalAspect.GREEN;
-    for (var cart : carts) {
+    for (var cart : zone.carts()) {
+      if (!cart.isAlive()) {
+        continue;
+      }
       int cartX = Mth.floor(cart.getX());
       int cartZ = Mth.floor(cart.getZ());
       var motionX = cart.getDeltaMovement().x();
@@ -195,17 +220,41 @@ public class SimpleBlockSignalNetwork extends BlockEntitySignalNetwork<BlockSign
         peer.signalNetwork().aspectExcluding(this.blockPos()));
   }
 
+  /**
+   * Gets the occupancy zone for the track section shared with the specified peer, replacing it if
+   * the section has changed shape since the zone was created.
+   */
   @Nullable
-  private TrackScanUtil.Result getOrCreateTrackScan(BlockPos otherTrack) {
-    var result = this.trackScans.get(otherTrack);
-    if (result == null) {
-      var trackPos = this.trackLocator.trackPos();
-      if (trackPos != null) {
-        result = TrackScanUtil.scanStraightTrackSection(getLevel(), trackPos, otherTrack);
-        this.trackScans.put(otherTrack, result);
-      }
+  private CartOccupancy.Zone getOrCreateSectionZone(BlockPos peerPos, BoundingBox box) {
+    var zone = this.sectionZones.get(peerPos);
+    if (zone != null && zone.box().equals(box)) {
+      return zone;
+    }
+    if (zone != null) {
+      zone.release();
+    }
+    if (!(this.getLevel() instanceof ServerLevel level)) {
+      this.sectionZones.remove(peerPos);
+      return null;
+    }
+    zone = CartUtil.occupancy(level).createZone(box);
+    this.sectionZones.put(peerPos, zone);
+    return zone;
+  }
+
+  private void releaseSectionZone(BlockPos peerPos) {
+    var zone = this.sectionZones.remove(peerPos);
+    if (zone != null) {
+      zone.release();
     }
-    return result;
+  }
+
+  private TrackScanUtil.Result scanTrackSection(BlockPos trackPos, BlockPos otherTrack) {
+    if (this.getLevel() instanceof ServerLevel level) {
+      this.scannedSections.add(otherTrack);
+      return TrackScanUtil.sections(level).scan(trackPos, otherTrack);
+    }
+    return TrackScanUtil.scanStraightTrackSection(this.getLevel(), trackPos, otherTrack);
   }
 
   private TrackValidationResult validateSignal(BlockSignal blockSignal) {
@@ -221,9 +270,7 @@ public class SimpleBlockSignalNetwork extends BlockEntitySignalNetwork<BlockSign
     BlockPos trackPos = this.trackLocator.trackPos();
     if (trackPos == null)
       return new TrackValidationResult(true, "INVALID_MY_TRACK_NULL");
-    TrackScanUtil.Result scanResult =
-        TrackScanUtil.scanStraightTrackSection(this.getLevel(), trackPos, otherTrackPos);
-    this.trackScans.put(otherTrackPos, scanResult);
+    TrackScanUtil.Result scanResult = this.scanTrackSection(trackPos, otherTrackPos);
 
     if (scanResult.status().valid()) {
       return new TrackValidationResult(true, "VALID");
@@ -259,6 +306,14 @@ public class SimpleBlockSignalNetwork extends BlockEntitySignalNetwork<BlockSign
     }
     if (this.signalValidationTimer++ >= SIGNAL_VALIDATION_INTERVAL) {
       this.signalValidationTimer = 0;
+      // peers can be dropped without going through removePeer, release their zones here
+      this.sectionZones.entrySet().removeIf(entry -> {
+        if (this.peers.contains(entry.getKey())) {
+          return false;
+        }
+        entry.getValue().release();
+        return true;
+      });
       switch (this.trackLocator.trackStatus()) {
         case INVALID -> {
           this.peers.clear();
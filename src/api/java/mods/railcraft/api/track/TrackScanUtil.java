@@ -6,14 +6,36 @@
  -----------------------------------------------------------------------------*/
 package mods.railcraft.api.track;
 
+import java.util.Objects;
+import org.jetbrains.annotations.ApiStatus;
+import com.google.common.base.Preconditions;
 import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.BaseRailBlock;
 
 public final class TrackScanUtil {
 
+  private static TrackSections.Provider sectionsProvider;
+
   private TrackScanUtil() {}
 
+  /**
+   * Gets the cached track sections of the specified level, prefer this over scanning sections
+   * that are checked repeatedly.
+   */
+  public static TrackSections sections(ServerLevel level) {
+    Objects.requireNonNull(sectionsProvider);
+    return sectionsProvider.sections(level);
+  }
+
+  @ApiStatus.Internal
+  public static void _setSectionsProvider(TrackSections.Provider sectionsProvider) {
+    Preconditions.checkState(TrackScanUtil.sectionsProvider == null,
+        "sectionsProvider is already set.");
+    TrackScanUtil.sectionsProvider = sectionsProvider;
+  }
+
   /**
    * Verifies that two rails are connected to each other along a straight line with no gaps or
    * wanderings.
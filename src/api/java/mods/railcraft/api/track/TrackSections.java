@@ -0,0 +1,47 @@
+/*------------------------------------------------------------------------------
+ Copyright (c) Railcraft Reborn, 2023+
+
+ This work (the API) is licensed under the "MIT" License,
+ see LICENSE.md for details.
+ -----------------------------------------------------------------------------*/
+package mods.railcraft.api.track;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+
+/**
+ * Keeps the results of {@link TrackScanUtil#scanStraightTrackSection straight track scans} for a
+ * level. A section is scanned once and stays cached until a block within its span changes, so
+ * callers may ask for it as often as they like.
+ *
+ * <p>
+ * Sections crossing unloaded chunks are never cached.
+ *
+ * @see TrackScanUtil#sections(ServerLevel)
+ */
+public interface TrackSections {
+
+  /**
+   * Gets the result of scanning the straight section between two rails, scanning it if it isn't
+   * cached. The order of the rails doesn't matter.
+   *
+   * @param start - one end of the section
+   * @param end - the other end of the section
+   * @return the scan result
+   */
+  TrackScanUtil.Result scan(BlockPos start, BlockPos end);
+
+  /**
+   * Drops the cached section between two rails, if any. Should be called once a section is no
+   * longer needed.
+   *
+   * @param start - one end of the section
+   * @param end - the other end of the section
+   */
+  void forget(BlockPos start, BlockPos end);
+
+  interface Provider {
+
+    TrackSections sections(ServerLevel level);
+  }
+}
@@ -0,0 +1,88 @@
+package mods.railcraft.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import mods.railcraft.api.charge.Charge;
+import mods.railcraft.charge.ChargeNetworkImpl;
+import net.minecraft.core.BlockPos;
+
+/**
+ * Builds, ticks and splits a square plane of wires on the distribution network.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChargeNetworkBenchmark {
+
+  @Param({"16", "64"})
+  public int size;
+
+  private FakeServerLevel level;
+  private ChargeNetworkImpl network;
+
+  @Setup(Level.Trial)
+  public void setUpLevel() {
+    this.level = FakeServerLevel.create();
+    var wire = Fixtures.wire().defaultBlockState();
+    for (var x = 0; x < this.size; x++) {
+      for (var z = 0; z < this.size; z++) {
+        this.level.setBlockState(new BlockPos(x, 0, z), wire);
+      }
+    }
+  }
+
+  @Setup(Level.Invocation)
+  public void setUpNetwork() {
+    this.network = this.buildNetwork();
+  }
+
+  @Benchmark
+  public ChargeNetworkImpl build() {
+    return this.buildNetwork();
+  }
+
+  @Benchmark
+  public ChargeNetworkImpl tick() {
+    this.network.tick();
+    return this.network;
+  }
+
+  @Benchmark
+  public ChargeNetworkImpl split() {
+    var middle = this.size / 2;
+    for (var z = 0; z < this.size; z++) {
+      this.network.removeNode(new BlockPos(middle, 0, z));
+    }
+    this.network.tick();
+    return this.network;
+  }
+
+  private ChargeNetworkImpl buildNetwork() {
+    var network = new ChargeNetworkImpl(Charge.distribution, this.level);
+    for (var x = 0; x < this.size; x++) {
+      for (var z = 0; z < this.size; z++) {
+        var pos = new BlockPos(x, 0, z);
+        network.addNode(pos, this.level.getBlockState(pos));
+      }
+    }
+    // The network adds at most 500 queued nodes per tick
+    for (var i = 0; i <= this.size * this.size / 500; i++) {
+      network.tick();
+    }
+    return network;
+  }
+}
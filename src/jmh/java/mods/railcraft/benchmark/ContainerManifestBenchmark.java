@@ -0,0 +1,69 @@
+package mods.railcraft.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import mods.railcraft.util.ItemStackKey;
+import mods.railcraft.util.container.ContainerManifest;
+import mods.railcraft.util.container.ContainerMapper;
+import net.minecraft.world.SimpleContainer;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+
+/**
+ * Builds manifests of a chest-sized container holding a mix of stackable items.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContainerManifestBenchmark {
+
+  private static final List<ItemStack> ITEMS = List.of(
+      new ItemStack(Items.COAL, 64),
+      new ItemStack(Items.IRON_INGOT, 32),
+      new ItemStack(Items.COBBLESTONE, 64),
+      new ItemStack(Items.REDSTONE, 17),
+      ItemStack.EMPTY);
+
+  @Param({"27", "54"})
+  public int slots;
+
+  private ContainerMapper container;
+  private List<ItemStackKey> keys;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    Fixtures.bootstrap();
+    var container = new SimpleContainer(this.slots);
+    for (var i = 0; i < this.slots; i++) {
+      container.setItem(i, ITEMS.get(i % ITEMS.size()).copy());
+    }
+    this.container = ContainerMapper.make(container);
+    this.keys = List.of(ItemStackKey.make(new ItemStack(Items.COAL)),
+        ItemStackKey.make(new ItemStack(Items.REDSTONE)));
+  }
+
+  @Benchmark
+  public ContainerManifest create() {
+    return ContainerManifest.create(this.container);
+  }
+
+  @Benchmark
+  public ContainerManifest createFiltered() {
+    return ContainerManifest.create(this.container, this.keys);
+  }
+}
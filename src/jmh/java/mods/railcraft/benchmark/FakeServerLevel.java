@@ -0,0 +1,84 @@
+package mods.railcraft.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.function.Predicate;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.material.FluidState;
+import net.minecraft.world.level.saveddata.DimensionDataStorage;
+import net.minecraft.world.phys.AABB;
+import sun.misc.Unsafe;
+
+/**
+ * A {@link ServerLevel} backed by a plain map of block states, with no chunks, entities or server.
+ *
+ * <p>The level is allocated without running any constructor, so only the methods overridden here
+ * may be called on it. Every position is loaded and holds air unless set otherwise. These cover
+ * what the benchmarked code reads: block and fluid states and loaded checks (track scans and
+ * multiblock patterns), the entity search of multiblock patterns and the saved data of charge
+ * networks. Anything else reads fields that were never set.
+ */
+public class FakeServerLevel extends ServerLevel {
+
+  private Long2ObjectMap<BlockState> blockStates;
+  private DimensionDataStorage dataStorage;
+
+  @SuppressWarnings("DataFlowIssue")
+  private FakeServerLevel() {
+    super(null, null, null, null, null, null, null, false, 0L, List.of(), false, null);
+  }
+
+  public static FakeServerLevel create() {
+    Fixtures.bootstrap();
+    try {
+      var unsafeField = Unsafe.class.getDeclaredField("theUnsafe");
+      unsafeField.setAccessible(true);
+      var unsafe = (Unsafe) unsafeField.get(null);
+      var level = (FakeServerLevel) unsafe.allocateInstance(FakeServerLevel.class);
+      level.blockStates = new Long2ObjectOpenHashMap<>();
+      level.blockStates.defaultReturnValue(Blocks.AIR.defaultBlockState());
+      level.dataStorage = new DimensionDataStorage(
+          Files.createTempDirectory("railcraft-benchmark").toFile(), null);
+      return level;
+    } catch (ReflectiveOperationException | IOException e) {
+      throw new IllegalStateException("Unable to create fake level", e);
+    }
+  }
+
+  public void setBlockState(BlockPos blockPos, BlockState blockState) {
+    this.blockStates.put(blockPos.asLong(), blockState);
+  }
+
+  @Override
+  public BlockState getBlockState(BlockPos blockPos) {
+    return this.blockStates.get(blockPos.asLong());
+  }
+
+  @Override
+  public FluidState getFluidState(BlockPos blockPos) {
+    return this.getBlockState(blockPos).getFluidState();
+  }
+
+  @Override
+  public boolean isLoaded(BlockPos blockPos) {
+    return true;
+  }
+
+  @Override
+  public DimensionDataStorage getDataStorage() {
+    return this.dataStorage;
+  }
+
+  @Override
+  public <T extends Entity> List<T> getEntitiesOfClass(Class<T> entityClass, AABB area,
+      Predicate<? super T> filter) {
+    return List.of();
+  }
+}
@@ -0,0 +1,97 @@
+package mods.railcraft.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import com.electronwill.nightconfig.core.CommentedConfig;
+import mods.railcraft.RailcraftConfig;
+import mods.railcraft.api.charge.Charge;
+import mods.railcraft.api.charge.ChargeBlock;
+import mods.railcraft.api.core.RailcraftConstants;
+import net.minecraft.SharedConstants;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.MappedRegistry;
+import net.minecraft.core.Registry;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.tags.BlockTags;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockBehaviour;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraftforge.common.ForgeConfigSpec;
+
+/**
+ * Shared set up for benchmarks that need vanilla registries, outside of a running game.
+ */
+public final class Fixtures {
+
+  private static Block wire;
+
+  private Fixtures() {}
+
+  /**
+   * Bootstraps the vanilla registries, binds the rail tag (normally loaded from data packs),
+   * registers the fixture blocks and loads the default configs. Safe to call more than once.
+   */
+  public static synchronized void bootstrap() {
+    if (wire != null) {
+      return;
+    }
+    SharedConstants.tryDetectVersion();
+    Bootstrap.bootStrap();
+    loadDefaultConfigs();
+
+    var blocks = (MappedRegistry<Block>) BuiltInRegistries.BLOCK;
+    blocks.unfreeze();
+    wire = Registry.register(blocks,
+        new ResourceLocation(RailcraftConstants.ID, "benchmark_wire"), new WireBlock());
+    blocks.freeze();
+    blocks.bindTags(Map.of(BlockTags.RAILS, List.of(Blocks.RAIL.builtInRegistryHolder())));
+  }
+
+  /**
+   * Fills every config with its default values, reading a config value that was never loaded
+   * throws in a development environment.
+   */
+  private static void loadDefaultConfigs() {
+    for (var name : List.of("CLIENT_SPEC", "COMMON_SPEC", "SERVER_SPEC")) {
+      ForgeConfigSpec spec;
+      try {
+        var field = RailcraftConfig.class.getDeclaredField(name);
+        field.setAccessible(true);
+        spec = (ForgeConfigSpec) field.get(null);
+      } catch (ReflectiveOperationException e) {
+        throw new IllegalStateException("Unable to find config spec " + name, e);
+      }
+      var config = CommentedConfig.inMemory();
+      spec.correct(config);
+      spec.acceptConfig(config);
+    }
+  }
+
+  /**
+   * A block on the distribution network connecting like a wire.
+   */
+  public static Block wire() {
+    bootstrap();
+    return wire;
+  }
+
+  private static class WireBlock extends Block implements ChargeBlock {
+
+    private static final Map<Charge, ChargeBlock.Spec> CHARGE_SPECS =
+        ChargeBlock.Spec.make(Charge.distribution, ChargeBlock.ConnectType.WIRE, 0.025F);
+
+    private WireBlock() {
+      super(BlockBehaviour.Properties.of());
+    }
+
+    @Override
+    public Map<Charge, ChargeBlock.Spec> getChargeSpecs(BlockState state, ServerLevel level,
+        BlockPos pos) {
+      return CHARGE_SPECS;
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package mods.railcraft.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import it.unimi.dsi.fastutil.chars.CharArrayList;
+import it.unimi.dsi.fastutil.chars.CharList;
+import mods.railcraft.world.level.block.entity.multiblock.BlockPredicate;
+import mods.railcraft.world.level.block.entity.multiblock.MultiblockPattern;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.block.Blocks;
+
+/**
+ * Resolves a hollow cube pattern against a level holding the complete structure, and against one
+ * where the last block checked is wrong.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MultiblockPatternBenchmark {
+
+  @Param({"3", "5"})
+  public int size;
+
+  private MultiblockPattern<Void> pattern;
+  private FakeServerLevel completeLevel;
+  private FakeServerLevel incompleteLevel;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    var builder = MultiblockPattern.<Void>builder(0, 0, 0)
+        .predicate('B', (level, blockPos) -> level.getBlockState(blockPos).is(Blocks.IRON_BLOCK))
+        .predicate('A', BlockPredicate.AIR);
+    for (var y = 0; y < this.size; y++) {
+      List<CharList> layer = new ArrayList<>(this.size);
+      for (var z = 0; z < this.size; z++) {
+        var row = new CharArrayList(this.size);
+        for (var x = 0; x < this.size; x++) {
+          row.add(this.isShell(x, y, z) ? 'B' : 'A');
+        }
+        layer.add(row);
+      }
+      builder.layer(layer);
+    }
+    this.pattern = builder.build();
+
+    this.completeLevel = FakeServerLevel.create();
+    this.incompleteLevel = FakeServerLevel.create();
+    var iron = Blocks.IRON_BLOCK.defaultBlockState();
+    for (var y = 0; y < this.size; y++) {
+      for (var z = 0; z < this.size; z++) {
+        for (var x = 0; x < this.size; x++) {
+          if (this.isShell(x, y, z)) {
+            this.completeLevel.setBlockState(new BlockPos(x, y, z), iron);
+            this.incompleteLevel.setBlockState(new BlockPos(x, y, z), iron);
+          }
+        }
+      }
+    }
+    var last = this.size - 1;
+    this.incompleteLevel.setBlockState(new BlockPos(last, last, last),
+        Blocks.STONE.defaultBlockState());
+  }
+
+  @Benchmark
+  public Optional<Map<BlockPos, MultiblockPattern.Element>> resolveComplete() {
+    return this.pattern.resolve(BlockPos.ZERO, this.completeLevel);
+  }
+
+  @Benchmark
+  public Optional<Map<BlockPos, MultiblockPattern.Element>> resolveIncomplete() {
+    return this.pattern.resolve(BlockPos.ZERO, this.incompleteLevel);
+  }
+
+  private boolean isShell(int x, int y, int z) {
+    var last = this.size - 1;
+    return x == 0 || x == last || y == 0 || y == last || z == 0 || z == last;
+  }
+}
@@ -0,0 +1,63 @@
+package mods.railcraft.benchmark;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import mods.railcraft.util.routing.RoutingLogic;
+import mods.railcraft.util.routing.RoutingLogicException;
+import mods.railcraft.util.routing.RoutingStatementParser;
+
+/**
+ * Parses routing statements and routing tables, both when the table has already been compiled
+ * and when every table is new.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoutingBenchmark {
+
+  private static final List<String> TABLE = List.of(
+      "// Sends passenger trains to the station, freight to the yard",
+      "IF",
+      "AND",
+      "Dest?=Station/.*",
+      "NOT",
+      "Color=black,Any",
+      "Redstone=true",
+      "OR",
+      "Name=Express",
+      "Loco=steam",
+      "FALSE");
+
+  private int counter;
+
+  @Benchmark
+  public RoutingStatementParser.ParsedStatement parseStatement() throws RoutingLogicException {
+    return RoutingStatementParser.parse("Dest", true, "Dest?=Station/[A-Z]+-\\d+");
+  }
+
+  @Benchmark
+  public RoutingLogic parseCompiledTable() throws RoutingLogicException {
+    return RoutingLogic.parseTable(new ArrayDeque<>(TABLE));
+  }
+
+  @Benchmark
+  public RoutingLogic parseNewTable() throws RoutingLogicException {
+    var table = new ArrayDeque<>(TABLE);
+    // A destination nobody has used before defeats the compiled table cache
+    table.addLast("Dest=Yard/" + this.counter++);
+    return RoutingLogic.parseTable(table);
+  }
+}
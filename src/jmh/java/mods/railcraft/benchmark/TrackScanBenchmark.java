@@ -0,0 +1,52 @@
+package mods.railcraft.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import mods.railcraft.api.track.TrackScanUtil;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.block.Blocks;
+
+/**
+ * Scans a straight section of rails, as done by block signals validating their section, with a
+ * step up halfway along.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TrackScanBenchmark {
+
+  @Param({"16", "128"})
+  public int length;
+
+  private FakeServerLevel level;
+  private BlockPos end;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    this.level = FakeServerLevel.create();
+    var rail = Blocks.RAIL.defaultBlockState();
+    for (var x = 0; x < this.length; x++) {
+      this.level.setBlockState(new BlockPos(x, x < this.length / 2 ? 0 : 1, 0), rail);
+    }
+    this.end = new BlockPos(this.length - 1, 1, 0);
+  }
+
+  @Benchmark
+  public TrackScanUtil.Result scanStraightTrackSection() {
+    return TrackScanUtil.scanStraightTrackSection(this.level, BlockPos.ZERO, this.end);
+  }
+}
@@ -1,10 +1,12 @@
 package mods.railcraft;
 
 import mods.railcraft.advancements.RailcraftCriteriaTriggers;
+import mods.railcraft.api.carts.CartUtil;
 import mods.railcraft.api.carts.RollingStock;
 import mods.railcraft.api.charge.Charge;
 import mods.railcraft.api.core.RailcraftConstants;
 import mods.railcraft.api.fuel.FuelUtil;
+import mods.railcraft.api.track.TrackScanUtil;
 import mods.railcraft.charge.ChargeCartStorageImpl;
 import mods.railcraft.charge.ChargeProviderImpl;
 import mods.railcraft.charge.ZapEffectProviderImpl;
@@ -32,7 +34,6 @@ import mods.railcraft.network.RailcraftDataSerializers;
 import mods.railcraft.network.play.LinkedCartsMessage;
 import mods.railcraft.particle.RailcraftParticleTypes;
 import mods.railcraft.sounds.RailcraftSoundEvents;
-import mods.railcraft.util.EntitySearcher;
 import mods.railcraft.util.capability.CapabilityUtil;
 import mods.railcraft.util.capability.FluidBottleWrapper;
 import mods.railcraft.world.damagesource.RailcraftDamageSources;
@@ -41,8 +42,11 @@ import mods.railcraft.world.entity.RailcraftEntityTypes;
 import mods.railcraft.world.entity.ai.village.poi.RailcraftPoiTypes;
 import mods.railcraft.world.entity.npc.RailcraftVillagerProfession;
 import mods.railcraft.world.entity.npc.RailcraftVillagerTrades;
+import mods.railcraft.world.entity.vehicle.CartOccupancyImpl;
 import mods.railcraft.world.entity.vehicle.MinecartHandler;
 import mods.railcraft.world.entity.vehicle.RollingStockImpl;
+import mods.railcraft.world.entity.vehicle.TrainChunkLoader;
+import mods.railcraft.world.entity.vehicle.TunnelBore;
 import mods.railcraft.world.inventory.RailcraftMenuTypes;
 import mods.railcraft.world.item.ChargeMeterItem;
 import mods.railcraft.world.item.CrowbarHandler;
@@ -50,24 +54,27 @@ import mods.railcraft.world.item.RailcraftCreativeModeTabs;
 import mods.railcraft.world.item.RailcraftItems;
 import mods.railcraft.world.item.alchemy.RailcraftPotions;
 import mods.railcraft.world.item.crafting.RailcraftRecipeSerializers;
+import mods.railcraft.world.item.crafting.RecipeCache;
 import mods.railcraft.world.item.crafting.RailcraftRecipeTypes;
 import mods.railcraft.world.item.enchantment.RailcraftEnchantments;
 import mods.railcraft.world.level.block.RailcraftBlocks;
+import mods.railcraft.world.level.block.entity.RailcraftBlockEntity;
 import mods.railcraft.world.level.block.entity.RailcraftBlockEntityTypes;
+import mods.railcraft.world.level.block.entity.multiblock.MultiblockBlockEntity;
+import mods.railcraft.world.level.block.entity.multiblock.MultiblockIndex;
 import mods.railcraft.world.level.block.track.TrackTypes;
-import mods.railcraft.world.level.gameevent.RailcraftGameEvents;
 import mods.railcraft.world.level.levelgen.structure.ComponentWorkshop;
 import mods.railcraft.world.level.levelgen.structure.RailcraftStructurePieces;
 import mods.railcraft.world.level.levelgen.structure.RailcraftStructureTypes;
 import mods.railcraft.world.level.material.RailcraftFluidTypes;
 import mods.railcraft.world.level.material.RailcraftFluids;
 import mods.railcraft.world.signal.TokenRingManager;
+import mods.railcraft.world.signal.TrackSectionsImpl;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.InteractionResult;
-import net.minecraft.world.SimpleContainer;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.npc.VillagerProfession;
 import net.minecraft.world.entity.vehicle.AbstractMinecart;
@@ -79,12 +86,15 @@ import net.minecraft.world.item.crafting.RecipeType;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.common.brewing.BrewingRecipeRegistry;
 import net.minecraftforge.common.capabilities.ForgeCapabilities;
+import net.minecraftforge.common.world.ForgeChunkManager;
 import net.minecraftforge.data.event.GatherDataEvent;
 import net.minecraftforge.event.AttachCapabilitiesEvent;
 import net.minecraftforge.event.BuildCreativeModeTabContentsEvent;
+import net.minecraftforge.event.TagsUpdatedEvent;
 import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.event.entity.EntityLeaveLevelEvent;
 import net.minecraftforge.event.entity.living.LivingDropsEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.event.entity.player.PlayerInteractEvent;
 import net.minecraftforge.event.level.BlockEvent;
 import net.minecraftforge.event.server.ServerAboutToStartEvent;
@@ -93,6 +103,7 @@ import net.minecraftforge.event.village.VillagerTradesEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.ModLoadingContext;
 import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.event.config.ModConfigEvent;
 import net.minecraftforge.fml.event.lifecycle.FMLCommonSetupEvent;
 import net.minecraftforge.fml.javafmlmod.FMLJavaModLoadingContext;
 import net.minecraftforge.fml.loading.FMLEnvironment;
@@ -104,6 +115,8 @@ public class Railcraft {
 
   static {
     FuelUtil._setFuelManager(FuelManagerImpl.INSTANCE);
+    CartUtil._setOccupancyProvider(CartOccupancyImpl::get);
+    TrackScanUtil._setSectionsProvider(TrackSectionsImpl::get);
     Charge._setZapEffectProvider(new ZapEffectProviderImpl());
     for (var value : ChargeProviderImpl.values()) {
       value.getCharge()._setProvider(value);
@@ -126,6 +139,7 @@ public class Railcraft {
     modEventBus.addListener(this::handleCommonSetup);
     modEventBus.addListener(this::buildContents);
     modEventBus.addListener(this::handleGatherData);
+    modEventBus.addListener(this::handleConfigChanged);
 
     if (FMLEnvironment.dist.isClient()) {
       ClientManager.init(modEventBus);
@@ -147,7 +161,6 @@ public class Railcraft {
     RailcraftParticleTypes.register(modEventBus);
     RailcraftRecipeSerializers.register(modEventBus);
     RailcraftRecipeTypes.register(modEventBus);
-    RailcraftGameEvents.register(modEventBus);
     RailcraftDataSerializers.register(modEventBus);
     RailcraftPoiTypes.register(modEventBus);
     RailcraftVillagerProfession.register(modEventBus);
@@ -166,6 +179,12 @@ public class Railcraft {
           RailcraftItems.CREOSOTE_BOTTLE.get(), RailcraftPotions.CREOSOTE.get()));
     });
     FuelUtil.fuelManager().addFuel(RailcraftFluids.CREOSOTE.get(), 4800);
+    ForgeChunkManager.setForcedChunkLoadingCallback(RailcraftConstants.ID,
+        TrainChunkLoader::validateTickets);
+  }
+
+  private void handleConfigChanged(ModConfigEvent event) {
+    this.minecartHandler.invalidateIgnoredEntityTypes();
   }
 
   public void buildContents(BuildCreativeModeTabContentsEvent event) {
@@ -217,6 +236,12 @@ public class Railcraft {
     ComponentWorkshop.addVillageStructures(event.getServer().registryAccess());
   }
 
+  @SubscribeEvent
+  public void handleTagsUpdated(TagsUpdatedEvent event) {
+    this.minecartHandler.invalidateIgnoredEntityTypes();
+    TunnelBore.invalidateMineableStates();
+  }
+
   @SubscribeEvent
   public void handleServerStarted(ServerStartedEvent event) {
     if (RailcraftConfig.SERVER.solidCarts.get()) {
@@ -248,20 +273,24 @@ public class Railcraft {
         provider.network(level).tick();
       }
       TokenRingManager.get(level).tick(level);
+      TrainChunkLoader.get(level).tick();
+      RailcraftBlockEntity.flushSyncs(level);
     }
   }
 
   @SubscribeEvent
-  public void handlePlayerTick(TickEvent.PlayerTickEvent event) {
-    if (event.player instanceof ServerPlayer player && player.tickCount % 20 == 0) {
-      var linkedCarts = EntitySearcher.findMinecarts()
-          .around(player)
-          .inflate(32F)
-          .stream(player.level())
-          .map(RollingStock::getOrThrow)
-          .map(LinkedCartsMessage.LinkedCart::new)
-          .toList();
-      NetworkChannel.GAME.sendTo(new LinkedCartsMessage(linkedCarts), player);
+  public void handleStartTracking(PlayerEvent.StartTracking event) {
+    if (event.getTarget() instanceof AbstractMinecart cart
+        && event.getEntity() instanceof ServerPlayer player) {
+      NetworkChannel.GAME.sendTo(LinkedCartsMessage.update(RollingStock.getOrThrow(cart)), player);
+    }
+  }
+
+  @SubscribeEvent
+  public void handleStopTracking(PlayerEvent.StopTracking event) {
+    if (event.getTarget() instanceof AbstractMinecart cart
+        && event.getEntity() instanceof ServerPlayer player) {
+      NetworkChannel.GAME.sendTo(LinkedCartsMessage.remove(cart), player);
     }
   }
 
@@ -309,11 +338,9 @@ public class Railcraft {
     var level = event.getEntity().level();
     var registryAccess = level.registryAccess();
     if (event.getSource().equals(RailcraftDamageSources.steam(registryAccess))) {
-      var recipeManager = level.getRecipeManager();
       for (var entityItem : event.getDrops()) {
         var drop = entityItem.getItem();
-        var cooked = recipeManager
-            .getRecipeFor(RecipeType.SMELTING, new SimpleContainer(drop), level)
+        var cooked = RecipeCache.getRecipeFor(RecipeType.SMELTING, drop, level)
             .map(x -> x.getResultItem(registryAccess))
             .orElse(ItemStack.EMPTY);
         if (!cooked.isEmpty() && level.getRandom().nextDouble() < 0.5) {
@@ -340,6 +367,15 @@ public class Railcraft {
 
   @SubscribeEvent
   public void handleNeighborNotify(BlockEvent.NeighborNotifyEvent event) {
-    event.getLevel().gameEvent(null, RailcraftGameEvents.NEIGHBOR_NOTIFY.get(), event.getPos());
+    if (event.getLevel() instanceof ServerLevel level) {
+      MultiblockIndex.get(level).blockChanged(event.getPos());
+      TrackSectionsImpl.get(level).blockChanged(event.getPos());
+      // A block that was just placed isn't indexed until it loads, so check it directly.
+      if (event.getState().hasBlockEntity()
+          && level.getBlockEntity(event.getPos()) instanceof MultiblockBlockEntity<?, ?> multiblock
+          && !multiblock.isFormed()) {
+        multiblock.enqueueEvaluation();
+      }
+    }
   }
 }
@@ -2,6 +2,7 @@ package mods.railcraft;
 
 import java.util.ArrayList;
 import java.util.List;
+import org.apache.commons.lang3.StringUtils;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraftforge.common.ForgeConfigSpec;
 import net.minecraftforge.common.ForgeConfigSpec.BooleanValue;
@@ -68,6 +69,7 @@ public class RailcraftConfig {
     public final DoubleValue fuelPerSteamMultiplier;
 
     public final IntValue cartDispenserDelay;
+    public final IntValue itemManipulatorTransferRate;
 
     public final BooleanValue changeDungeonLoot;
 
@@ -88,9 +90,10 @@ public class RailcraftConfig {
 
         this.highSpeedTrackIgnoredEntities = builder
             .comment(
-                "Add entity names to exclude them from explosions caused by high speed collisions")
+                "Add entity names or entity type tags (prefixed with #) to exclude them from explosions caused by high speed collisions")
             .defineList("ignoredEntities", defaultEntities,
-                obj -> ResourceLocation.isValidResourceLocation(obj.toString()));
+                obj -> ResourceLocation.isValidResourceLocation(
+                    StringUtils.removeStart(obj.toString(), "#")));
       }
       builder.pop();
 
@@ -188,6 +191,10 @@ public class RailcraftConfig {
           .comment("Set the minimum number of seconds between cart dispensing")
           .defineInRange("cartDispenserDelay", 0, 0, Integer.MAX_VALUE);
 
+      this.itemManipulatorTransferRate = builder
+          .comment("Set the maximum number of items item loaders and unloaders move per tick")
+          .defineInRange("itemManipulatorTransferRate", 64, 1, 1024);
+
       builder.push("charge");
       {
         this.lossMultiplier = builder
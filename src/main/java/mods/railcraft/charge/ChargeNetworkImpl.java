@@ -5,12 +5,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.Deque;
 import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -19,16 +19,12 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.TreeSet;
 import java.util.WeakHashMap;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
-import com.google.common.collect.ForwardingCollection;
 import com.google.common.collect.ForwardingMap;
 import com.google.common.collect.ForwardingSet;
 import com.google.common.collect.Iterators;
@@ -55,6 +51,8 @@ public class ChargeNetworkImpl implements Charge.Network {
   private static final Logger logger = LogUtils.getLogger();
 
   public static final int CHARGE_PER_DAMAGE = 1000;
+  private static final ChargeStorage.State[] BATTERY_STATES = ChargeStorage.State.values();
+  private static final ChargeStorageBlockImpl[] NO_BATTERIES = {};
   public static final Map<ChargeBlock.ConnectType, ConnectionMap> CONNECTION_MAPS =
       new EnumMap<>(ChargeBlock.ConnectType.class);
   private final ChargeGrid NULL_GRID = new NullGrid();
@@ -135,7 +133,15 @@ public class ChargeNetworkImpl implements Charge.Network {
     if (!this.needsNode(pos, node.chargeSpec))
       return;
 
-    var oldNode = this.nodes.put(pos.immutable(), node);
+    // clean up any preexisting node, its spec may have changed so it could have been holding
+    // together parts of the grid that the new node no longer connects
+    var oldNode = this.nodes.remove(pos);
+    if (oldNode != null) {
+      oldNode.invalid = true;
+      this.detachNode(oldNode);
+    }
+
+    this.nodes.put(pos.immutable(), node);
 
     // update the battery in the save data tracker
     if (node.chargeBattery != null) {
@@ -144,16 +150,6 @@ public class ChargeNetworkImpl implements Charge.Network {
       this.chargeSavedData.removeBattery(pos);
     }
 
-    // clean up any preexisting node
-    if (oldNode != null) {
-      oldNode.invalid = true;
-      if (oldNode.chargeGrid.isActive()) {
-        node.chargeGrid = oldNode.chargeGrid;
-        node.chargeGrid.add(node);
-      }
-      oldNode.chargeGrid = NULL_GRID;
-    }
-
     if (node.isGridNull()) {
       node.constructGrid();
     }
@@ -163,11 +159,141 @@ public class ChargeNetworkImpl implements Charge.Network {
     var chargeNode = this.nodes.remove(pos);
     if (chargeNode != null) {
       chargeNode.invalid = true;
-      chargeNode.chargeGrid.destroy(true);
+      this.detachNode(chargeNode);
     }
     this.chargeSavedData.removeBattery(pos);
   }
 
+  /**
+   * Removes a node from its grid, splitting off any parts of the grid that are no longer
+   * connected to each other.
+   */
+  private void detachNode(ChargeNode chargeNode) {
+    var grid = chargeNode.chargeGrid;
+    chargeNode.chargeGrid = NULL_GRID;
+    if (!grid.isActive()) {
+      return;
+    }
+    grid.removeMember(chargeNode);
+    if (grid.isEmpty()) {
+      grid.destroy(false);
+      return;
+    }
+    List<ChargeNode> seeds = new ArrayList<>();
+    chargeNode.forConnections(other -> {
+      if (other.chargeGrid == grid) {
+        seeds.add(other);
+      }
+    });
+    if (seeds.size() > 1) {
+      this.splitGrid(grid, seeds);
+    }
+  }
+
+  /**
+   * Runs a search from each former neighbour of a removed node in lock-step. Searches that meet
+   * are joined, and the check stops as soon as at most one search is still expanding. Every
+   * search that ran dry without meeting the others has mapped out a component that broke away,
+   * and only those components are moved to new grids. The cost is therefore bounded by the size
+   * of the smaller pieces rather than the size of the whole grid.
+   */
+  private void splitGrid(ChargeGrid grid, List<ChargeNode> seeds) {
+    var count = seeds.size();
+    var parent = new int[count];
+    List<Deque<ChargeNode>> queues = new ArrayList<>(count);
+    Map<ChargeNode, Integer> owners = new HashMap<>();
+    for (int i = 0; i < count; i++) {
+      parent[i] = i;
+      Deque<ChargeNode> queue = new ArrayDeque<>();
+      queue.add(seeds.get(i));
+      queues.add(queue);
+      owners.put(seeds.get(i), i);
+    }
+
+    var live = new boolean[count];
+    int liveGroups;
+    do {
+      for (int i = 0; i < count; i++) {
+        final var self = i;
+        final var queue = queues.get(i);
+        var next = queue.poll();
+        if (next == null) {
+          continue;
+        }
+        next.forConnections(connection -> {
+          if (connection.chargeGrid != grid) {
+            return;
+          }
+          var owner = owners.putIfAbsent(connection, self);
+          if (owner == null) {
+            queue.addLast(connection);
+          } else {
+            union(parent, self, owner);
+          }
+        });
+      }
+
+      Arrays.fill(live, false);
+      liveGroups = 0;
+      for (int i = 0; i < count; i++) {
+        var root = find(parent, i);
+        if (!queues.get(i).isEmpty() && !live[root]) {
+          live[root] = true;
+          liveGroups++;
+        }
+      }
+    } while (liveGroups > 1);
+
+    Map<Integer, List<ChargeNode>> components = new HashMap<>();
+    owners.forEach((node, owner) -> components
+        .computeIfAbsent(find(parent, owner), __ -> new ArrayList<>()).add(node));
+    if (components.size() <= 1) {
+      return;
+    }
+
+    // The search that is still running (or the largest one, if they all ran dry) keeps the
+    // original grid
+    var survivor = -1;
+    for (var entry : components.entrySet()) {
+      if (live[entry.getKey()]) {
+        survivor = entry.getKey();
+        break;
+      }
+      if (survivor == -1 || entry.getValue().size() > components.get(survivor).size()) {
+        survivor = entry.getKey();
+      }
+    }
+
+    for (var entry : components.entrySet()) {
+      if (entry.getKey() == survivor) {
+        continue;
+      }
+      var newGrid = new ChargeGrid();
+      this.grids.add(newGrid);
+      for (var node : entry.getValue()) {
+        grid.removeMember(node);
+        newGrid.add(node);
+      }
+      logger.debug("Split Grid: {}->{}", grid, newGrid);
+    }
+  }
+
+  private static int find(int[] parent, int i) {
+    while (parent[i] != i) {
+      parent[i] = parent[parent[i]];
+      i = parent[i];
+    }
+    return i;
+  }
+
+  private static void union(int[] parent, int a, int b) {
+    var rootA = find(parent, a);
+    var rootB = find(parent, b);
+    if (rootA != rootB) {
+      parent[rootB] = rootA;
+    }
+  }
+
   @Override
   public boolean addNode(BlockPos pos, BlockState state) {
     var chargeSpec = this.getChargeSpec(state, pos);
@@ -224,14 +350,26 @@ public class ChargeNetworkImpl implements Charge.Network {
     return node == null ? NULL_NODE : node;
   }
 
-  public class ChargeGrid extends ForwardingSet<ChargeNode> {
+  public class ChargeGrid extends ForwardingSet<ChargeNode>
+      implements ChargeStorageBlockImpl.Listener {
     private final Set<ChargeNode> chargeNodes = new HashSet<>();
-    private final List<ChargeStorageBlockImpl> batteries = new ArrayList<>();
+    private final Map<BlockPos, ChargeStorageBlockImpl> batteries = new HashMap<>();
+    private final BatteryBucket[] batteryBuckets = new BatteryBucket[BATTERY_STATES.length];
+    private ChargeStorageBlockImpl[] activeBatteries = NO_BATTERIES;
+    private int sourceBatteriesStart;
+    private int sourceBatteriesEnd;
+    private boolean activeBatteriesDirty;
     private boolean invalid;
     private float totalLosses;
     private int chargeUsedThisTick;
     private float averageUsagePerTick;
 
+    public ChargeGrid() {
+      for (int i = 0; i < this.batteryBuckets.length; i++) {
+        this.batteryBuckets[i] = new BatteryBucket();
+      }
+    }
+
     @Override
     protected Set<ChargeNode> delegate() {
       return chargeNodes;
@@ -248,20 +386,107 @@ public class ChargeNetworkImpl implements Charge.Network {
         totalLosses += chargeNode.chargeSpec.losses();
       }
       chargeNode.chargeGrid = this;
-      this.batteries.removeIf(b -> b.getBlockPos().equals(chargeNode.pos));
-      if (chargeNode.chargeBattery != null) {
-        this.batteries.removeIf(b -> b.getBlockPos().equals(chargeNode.pos));
-        this.batteries.add(chargeNode.chargeBattery);
-        sortBatteries();
-      } else {
+      var battery = chargeNode.chargeBattery;
+      var previous = battery == null
+          ? this.batteries.remove(chargeNode.pos)
+          : this.batteries.put(chargeNode.pos, battery);
+      if (previous != battery) {
+        if (previous != null) {
+          this.untrackBattery(previous);
+        }
+        if (battery != null) {
+          this.trackBattery(battery);
+        }
+      }
+      if (battery == null) {
         ChargeNetworkImpl.this.chargeSavedData.removeBattery(chargeNode.pos);
       }
       return added;
     }
 
-    private void sortBatteries() {
-      this.batteries.sort(Comparator.comparing(ChargeStorage::getState)
-          .thenComparing(Comparator.comparing(ChargeStorage::getEfficiency).reversed()));
+    private void removeMember(ChargeNode chargeNode) {
+      if (this.chargeNodes.remove(chargeNode)) {
+        this.totalLosses -= chargeNode.chargeSpec.losses();
+      }
+      var battery = this.batteries.remove(chargeNode.pos);
+      if (battery != null) {
+        this.untrackBattery(battery);
+      }
+    }
+
+    private void trackBattery(ChargeStorageBlockImpl battery) {
+      battery.setListener(this);
+      var bucket = this.bucket(battery.getState());
+      bucket.insert(battery);
+      bucket.add(battery);
+      this.activeBatteriesDirty = true;
+    }
+
+    private void untrackBattery(ChargeStorageBlockImpl battery) {
+      var bucket = this.bucket(battery.getState());
+      bucket.subtract(battery);
+      bucket.batteries.remove(battery);
+      if (battery.hasListener(this)) {
+        battery.setListener(null);
+      }
+      this.activeBatteriesDirty = true;
+    }
+
+    @Override
+    public void beforeChange(ChargeStorageBlockImpl battery) {
+      this.bucket(battery.getState()).subtract(battery);
+    }
+
+    @Override
+    public void afterChange(ChargeStorageBlockImpl battery, ChargeStorage.State previousState) {
+      var bucket = this.bucket(battery.getState());
+      if (previousState != battery.getState()) {
+        this.bucket(previousState).batteries.remove(battery);
+        bucket.insert(battery);
+        this.activeBatteriesDirty = true;
+      }
+      bucket.add(battery);
+    }
+
+    private BatteryBucket bucket(ChargeStorage.State state) {
+      return this.batteryBuckets[state.ordinal()];
+    }
+
+    /**
+     * All batteries that are not disabled, ordered by state and then by descending efficiency.
+     * The array is only rebuilt when batteries join, leave or change state, so drawing charge
+     * doesn't allocate.
+     */
+    private ChargeStorageBlockImpl[] activeBatteries() {
+      if (this.activeBatteriesDirty) {
+        this.activeBatteriesDirty = false;
+        var count = 0;
+        for (var state : BATTERY_STATES) {
+          if (state != ChargeStorage.State.DISABLED) {
+            count += this.bucket(state).batteries.size();
+          }
+        }
+        if (this.activeBatteries.length != count) {
+          this.activeBatteries = new ChargeStorageBlockImpl[count];
+        }
+        var index = 0;
+        for (var state : BATTERY_STATES) {
+          if (state == ChargeStorage.State.DISABLED) {
+            continue;
+          }
+          if (state == ChargeStorage.State.SOURCE) {
+            this.sourceBatteriesStart = index;
+          }
+          var bucket = this.bucket(state).batteries;
+          for (int i = 0; i < bucket.size(); i++) {
+            this.activeBatteries[index++] = bucket.get(i);
+          }
+          if (state == ChargeStorage.State.SOURCE) {
+            this.sourceBatteriesEnd = index;
+          }
+        }
+      }
+      return this.activeBatteries;
     }
 
     @Override
@@ -301,7 +526,19 @@ public class ChargeNetworkImpl implements Charge.Network {
       if (touchNodes) {
         forEach(n -> n.chargeGrid = NULL_GRID);
       }
+      batteries.values().forEach(bat -> {
+        if (bat.hasListener(this)) {
+          bat.setListener(null);
+        }
+      });
       batteries.clear();
+      for (int i = 0; i < batteryBuckets.length; i++) {
+        batteryBuckets[i] = new BatteryBucket();
+      }
+      activeBatteries = NO_BATTERIES;
+      sourceBatteriesStart = 0;
+      sourceBatteriesEnd = 0;
+      activeBatteriesDirty = false;
       chargeNodes.clear();
       grids.remove(this);
     }
@@ -312,52 +549,53 @@ public class ChargeNetworkImpl implements Charge.Network {
     }
 
     private void tick() {
-      this.sortBatteries();
-
       this.removeCharge(Mth.floor(this.getLosses()), false);
 
       // balance the charge in all the rechargeable batteries in the grid
-      var rechargeable =
-          this.batteries(ChargeStorage.State.RECHARGEABLE).collect(Collectors.toSet());
+      var rechargeable = this.bucket(ChargeStorage.State.RECHARGEABLE);
 
-      var capacity = rechargeable.stream().mapToInt(ChargeStorage::getMaxEnergyStored).sum();
+      var capacity = rechargeable.capacity;
       if (capacity > 0) {
-        var charge = rechargeable.stream().mapToInt(ChargeStorage::getEnergyStored).sum();
+        var charge = rechargeable.charge;
         final var neededCharge = capacity - charge;
         if (neededCharge > 0) {
-          charge += this.removeCharge(this.batteries(ChargeStorage.State.SOURCE).toList(),
-              neededCharge, false);
+          charge += this.removeCharge(this.activeBatteries(), this.sourceBatteriesStart,
+              this.sourceBatteriesEnd, neededCharge, false);
         }
         final var chargeLevel = charge / (float) capacity;
-        rechargeable.forEach(bat -> bat.setEnergyStored(
+        rechargeable.batteries.forEach(bat -> bat.setEnergyStored(
             Mth.floor(chargeLevel * bat.getMaxEnergyStored())));
       }
 
-      batteries.forEach(bat -> {
+      // flush every battery to the saved data once, rather than on every draw
+      for (var bat : batteries.values()) {
         bat.tick();
-        chargeSavedData.updateBatteryRecord(bat);
-      });
+      }
+      chargeSavedData.updateBatteryRecords(batteries.values());
 
       // track usage patterns
       averageUsagePerTick = (averageUsagePerTick * 49.0F + chargeUsedThisTick) / 50.0F;
       chargeUsedThisTick = 0;
     }
 
-    private Stream<ChargeStorageBlockImpl> batteries(ChargeStorage.State... state) {
-      List<ChargeStorage.State> list = Arrays.asList(state);
-      return batteries.stream().filter(b -> list.contains(b.getState()));
-    }
-
-    private Stream<ChargeStorageBlockImpl> activeBatteries() {
-      return batteries.stream().filter(b -> b.getState() != ChargeStorage.State.DISABLED);
-    }
-
     public int getCharge() {
-      return activeBatteries().mapToInt(ChargeStorage::getEnergyStored).sum();
+      var charge = 0;
+      for (var state : BATTERY_STATES) {
+        if (state != ChargeStorage.State.DISABLED) {
+          charge += this.bucket(state).charge;
+        }
+      }
+      return charge;
     }
 
     public int getCapacity() {
-      return activeBatteries().mapToInt(ChargeStorage::getMaxEnergyStored).sum();
+      var capacity = 0;
+      for (var state : BATTERY_STATES) {
+        if (state != ChargeStorage.State.DISABLED) {
+          capacity += this.bucket(state).capacity;
+        }
+      }
+      return capacity;
     }
 
     public float getChargeLevel() {
@@ -365,22 +603,46 @@ public class ChargeNetworkImpl implements Charge.Network {
     }
 
     public int getAvailableCharge() {
-      return activeBatteries().mapToInt(ChargeStorage::getAvailableCharge).sum();
+      var availableCharge = 0;
+      for (var state : BATTERY_STATES) {
+        if (state != ChargeStorage.State.DISABLED) {
+          availableCharge += this.bucket(state).availableCharge;
+        }
+      }
+      return availableCharge;
     }
 
     public int getPotentialDraw() {
-      return activeBatteries().mapToInt(ChargeStorage::getPotentialDraw).sum();
+      var potentialDraw = 0;
+      for (var state : BATTERY_STATES) {
+        if (state != ChargeStorage.State.DISABLED) {
+          potentialDraw += this.bucket(state).potentialDraw;
+        }
+      }
+      return potentialDraw;
     }
 
     public int getMaxDraw() {
-      return activeBatteries().mapToInt(ChargeStorage::getMaxDraw).sum();
+      var maxDraw = 0;
+      for (var state : BATTERY_STATES) {
+        if (state != ChargeStorage.State.DISABLED) {
+          maxDraw += this.bucket(state).maxDraw;
+        }
+      }
+      return maxDraw;
     }
 
     public float getEfficiency() {
-      return (float) this.activeBatteries()
-          .mapToDouble(ChargeStorage::getEfficiency)
-          .average()
-          .orElse(1.0);
+      var efficiency = 0.0;
+      var count = 0;
+      for (var state : BATTERY_STATES) {
+        if (state != ChargeStorage.State.DISABLED) {
+          var bucket = this.bucket(state);
+          efficiency += bucket.efficiency;
+          count += bucket.batteries.size();
+        }
+      }
+      return count == 0 ? 1.0F : (float) (efficiency / count);
     }
 
     public int getComparatorOutput() {
@@ -411,7 +673,7 @@ public class ChargeNetworkImpl implements Charge.Network {
     }
 
     public boolean isInfinite() {
-      return batteries.stream().anyMatch(b -> b.getState() == ChargeStorage.State.INFINITE);
+      return !this.bucket(ChargeStorage.State.INFINITE).batteries.isEmpty();
     }
 
     public boolean isActive() {
@@ -430,7 +692,8 @@ public class ChargeNetworkImpl implements Charge.Network {
      */
     public boolean useCharge(int amount, boolean simulate) {
       if (this.hasCapacity(amount)) {
-        this.removeCharge(this.activeBatteries().toList(), amount, simulate);
+        var batteries = this.activeBatteries();
+        this.removeCharge(batteries, 0, batteries.length, amount, simulate);
         return true;
       }
       return false;
@@ -454,22 +717,24 @@ public class ChargeNetworkImpl implements Charge.Network {
      * @return charge removed
      */
     public int removeCharge(int desiredAmount, boolean simulate) {
-      return this.removeCharge(this.activeBatteries().toList(), desiredAmount, simulate);
+      var batteries = this.activeBatteries();
+      return this.removeCharge(batteries, 0, batteries.length, desiredAmount, simulate);
     }
 
     /**
-     * Remove up to the requested amount of charge and returns the amount removed.
+     * Remove up to the requested amount of charge from the given range of batteries and returns
+     * the amount removed. Saved data is brought up to date by the next grid tick.
      *
      * @return charge removed
      */
-    private int removeCharge(List<ChargeStorageBlockImpl> batteries, int desiredAmount,
-        boolean simulate) {
+    private int removeCharge(ChargeStorageBlockImpl[] batteries, int from, int to,
+        int desiredAmount, boolean simulate) {
+      if (desiredAmount <= 0) {
+        return 0;
+      }
       var amountNeeded = desiredAmount;
-      for (var battery : batteries) {
-        amountNeeded -= battery.extractEnergy(amountNeeded, simulate);
-        if (!simulate) {
-          chargeSavedData.updateBatteryRecord(battery);
-        }
+      for (int i = from; i < to; i++) {
+        amountNeeded -= batteries[i].extractEnergy(amountNeeded, simulate);
         if (amountNeeded <= 0) {
           break;
         }
@@ -488,6 +753,49 @@ public class ChargeNetworkImpl implements Charge.Network {
     }
   }
 
+  /**
+   * Batteries of a single state together with the running totals of the values they report.
+   */
+  private static class BatteryBucket {
+    private final List<ChargeStorageBlockImpl> batteries = new ArrayList<>();
+    private int charge;
+    private int capacity;
+    private int availableCharge;
+    private int potentialDraw;
+    private int maxDraw;
+    private double efficiency;
+
+    /**
+     * Inserts the battery, keeping the bucket ordered by descending efficiency.
+     */
+    private void insert(ChargeStorageBlockImpl battery) {
+      var index = 0;
+      while (index < this.batteries.size()
+          && this.batteries.get(index).getEfficiency() >= battery.getEfficiency()) {
+        index++;
+      }
+      this.batteries.add(index, battery);
+    }
+
+    private void add(ChargeStorageBlockImpl battery) {
+      this.charge += battery.getEnergyStored();
+      this.capacity += battery.getMaxEnergyStored();
+      this.availableCharge += battery.getAvailableCharge();
+      this.potentialDraw += battery.getPotentialDraw();
+      this.maxDraw += battery.getMaxDraw();
+      this.efficiency += battery.getEfficiency();
+    }
+
+    private void subtract(ChargeStorageBlockImpl battery) {
+      this.charge -= battery.getEnergyStored();
+      this.capacity -= battery.getMaxEnergyStored();
+      this.availableCharge -= battery.getAvailableCharge();
+      this.potentialDraw -= battery.getPotentialDraw();
+      this.maxDraw -= battery.getMaxDraw();
+      this.efficiency -= battery.getEfficiency();
+    }
+  }
+
   private class NullGrid extends ChargeGrid {
     @Override
     protected Set<ChargeNode> delegate() {
@@ -607,8 +915,7 @@ public class ChargeNetworkImpl implements Charge.Network {
     public boolean useCharge(int amount, boolean simulate) {
       boolean removed = this.chargeGrid.useCharge(amount, simulate);
       if (removed && !simulate) {
-        this.listeners.forEach(c -> c.chargeRemoved(this, amount));
-        this.usageRecorder.ifPresent(r -> r.useCharge(amount));
+        this.notifyChargeRemoved(amount);
       }
       return removed;
     }
@@ -617,12 +924,22 @@ public class ChargeNetworkImpl implements Charge.Network {
     public int removeCharge(int desiredAmount, boolean simulate) {
       var removed = this.chargeGrid.removeCharge(desiredAmount, simulate);
       if (!simulate) {
-        this.listeners.forEach(c -> c.chargeRemoved(this, removed));
-        this.usageRecorder.ifPresent(r -> r.useCharge(removed));
+        this.notifyChargeRemoved(removed);
       }
       return removed;
     }
 
+    private void notifyChargeRemoved(int amount) {
+      if (!this.listeners.isEmpty()) {
+        for (var listener : this.listeners) {
+          listener.chargeRemoved(this, amount);
+        }
+      }
+      if (this.usageRecorder.isPresent()) {
+        this.usageRecorder.get().useCharge(amount);
+      }
+    }
+
     public boolean isValid() {
       return !this.invalid;
     }
@@ -634,22 +951,21 @@ public class ChargeNetworkImpl implements Charge.Network {
     protected void constructGrid() {
       Set<ChargeNode> visitedNodes = new HashSet<>();
       visitedNodes.add(this);
-      Set<ChargeNode> nullNodes = new HashSet<>();
+      List<ChargeNode> nullNodes = new ArrayList<>();
+      Set<ChargeGrid> seenGrids = Collections.newSetFromMap(new IdentityHashMap<>());
       if (this.isGridNull()) {
         nullNodes.add(this);
+      } else {
+        seenGrids.add(this.chargeGrid);
       }
       Deque<ChargeNode> nodeQueue = new ArrayDeque<>();
       nodeQueue.add(this);
-      TreeSet<ChargeGrid> seenGrids =
-          new TreeSet<>(Comparator.comparingInt(ForwardingCollection::size));
-      seenGrids.add(this.chargeGrid);
       ChargeNode nextNode;
       while ((nextNode = nodeQueue.poll()) != null) {
         nextNode.forConnections(connection -> {
-          if (visitedNodes.contains(connection)) {
+          if (!visitedNodes.add(connection)) {
             return;
           }
-          visitedNodes.add(connection);
 
           if (connection.isGridNull()) {
             nullNodes.add(connection);
@@ -659,19 +975,28 @@ public class ChargeNetworkImpl implements Charge.Network {
           }
         });
       }
-      this.chargeGrid = Objects.requireNonNull(seenGrids.pollLast());
-      if (this.chargeGrid.isNull()) {
-        this.chargeGrid = new ChargeGrid();
-        ChargeNetworkImpl.this.grids.add(this.chargeGrid);
+
+      // Merge everything into the largest grid we found so only the smaller grids are relabelled
+      ChargeGrid grid = null;
+      for (var seenGrid : seenGrids) {
+        if (grid == null || seenGrid.size() > grid.size()) {
+          grid = seenGrid;
+        }
+      }
+      if (grid == null) {
+        grid = new ChargeGrid();
+        ChargeNetworkImpl.this.grids.add(grid);
       }
-      int originalSize = this.chargeGrid.size();
-      this.chargeGrid.addAll(nullNodes);
-      seenGrids.forEach(grid -> {
-        this.chargeGrid.addAll(grid);
-        grid.destroy(false);
-      });
-      logger.debug("Constructing Grid: {}->{} Added {} nodes", this.pos, this.chargeGrid,
-          this.chargeGrid.size() - originalSize);
+      int originalSize = grid.size();
+      grid.addAll(nullNodes);
+      for (var seenGrid : seenGrids) {
+        if (seenGrid != grid) {
+          grid.addAll(seenGrid);
+          seenGrid.destroy(false);
+        }
+      }
+      logger.debug("Constructing Grid: {}->{} Added {} nodes", this.pos, grid,
+          grid.size() - originalSize);
     }
 
     @Override
@@ -1,5 +1,6 @@
 package mods.railcraft.charge;
 
+import java.util.Collection;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import mods.railcraft.api.charge.Charge;
@@ -61,6 +62,22 @@ public final class ChargeSavedData extends SavedData {
     this.setDirty();
   }
 
+  /**
+   * Records the charge of every battery, marking the data dirty at most once.
+   */
+  public void updateBatteryRecords(Collection<ChargeStorageBlockImpl> batteries) {
+    var changed = false;
+    for (var battery : batteries) {
+      var energy = battery.getEnergyStored();
+      if (this.chargeLevels.put(battery.getBlockPos(), energy) != energy) {
+        changed = true;
+      }
+    }
+    if (changed) {
+      this.setDirty();
+    }
+  }
+
   public void removeBattery(BlockPos pos) {
     if (this.chargeLevels.removeInt(pos) != ABSENT_VALUE) {
       this.setDirty();
@@ -1,5 +1,6 @@
 package mods.railcraft.charge;
 
+import org.jetbrains.annotations.Nullable;
 import mods.railcraft.api.charge.ChargeStorage;
 import net.minecraft.core.BlockPos;
 import net.minecraft.util.Mth;
@@ -7,11 +8,20 @@ import net.minecraftforge.energy.EnergyStorage;
 
 public class ChargeStorageBlockImpl extends EnergyStorage implements ChargeStorage {
 
+  private static final Listener NO_LISTENER = new Listener() {
+    @Override
+    public void beforeChange(ChargeStorageBlockImpl battery) {}
+
+    @Override
+    public void afterChange(ChargeStorageBlockImpl battery, State previousState) {}
+  };
+
   private final BlockPos pos;
   private final Spec batterySpec;
   private StateImpl stateImpl = StateImpl.RECHARGEABLE;
   private State state = State.RECHARGEABLE;
   private int chargeDrawnThisTick;
+  private Listener listener = NO_LISTENER;
 
   public ChargeStorageBlockImpl(BlockPos pos, Spec batterySpec) {
     super(batterySpec.capacity());
@@ -20,8 +30,21 @@ public class ChargeStorageBlockImpl extends EnergyStorage implements ChargeStora
     this.setState(batterySpec.initialState());
   }
 
+  /**
+   * Sets the listener that is notified around every change to this battery's charge or state.
+   */
+  public void setListener(@Nullable Listener listener) {
+    this.listener = listener == null ? NO_LISTENER : listener;
+  }
+
+  public boolean hasListener(Listener listener) {
+    return this.listener == listener;
+  }
+
   public void setEnergyStored(int energy) {
+    this.listener.beforeChange(this);
     this.energy = energy;
+    this.listener.afterChange(this, this.state);
   }
 
   @Override
@@ -36,8 +59,11 @@ public class ChargeStorageBlockImpl extends EnergyStorage implements ChargeStora
 
   @Override
   public void setState(State state) {
+    var previousState = this.state;
+    this.listener.beforeChange(this);
     this.state = state;
     this.stateImpl = StateImpl.valueOf(state.name());
+    this.listener.afterChange(this, previousState);
   }
 
   public Spec getBatterySpec() {
@@ -63,7 +89,11 @@ public class ChargeStorageBlockImpl extends EnergyStorage implements ChargeStora
   }
 
   public void tick() {
-    this.chargeDrawnThisTick = 0;
+    if (this.chargeDrawnThisTick != 0) {
+      this.listener.beforeChange(this);
+      this.chargeDrawnThisTick = 0;
+      this.listener.afterChange(this, this.state);
+    }
   }
 
   @Override
@@ -78,13 +108,27 @@ public class ChargeStorageBlockImpl extends EnergyStorage implements ChargeStora
    */
   @Override
   public int extractEnergy(int maxExtract, boolean simulate) {
-    var drawn = this.stateImpl.extractEnergy(this, maxExtract, simulate);
-    if (!simulate) {
-      this.chargeDrawnThisTick += drawn;
+    if (simulate) {
+      return this.stateImpl.extractEnergy(this, maxExtract, true);
     }
+    this.listener.beforeChange(this);
+    var drawn = this.stateImpl.extractEnergy(this, maxExtract, false);
+    this.chargeDrawnThisTick += drawn;
+    this.listener.afterChange(this, this.state);
     return drawn;
   }
 
+  @Override
+  public int receiveEnergy(int maxReceive, boolean simulate) {
+    if (simulate) {
+      return super.receiveEnergy(maxReceive, true);
+    }
+    this.listener.beforeChange(this);
+    var received = super.receiveEnergy(maxReceive, false);
+    this.listener.afterChange(this, this.state);
+    return received;
+  }
+
   private int superExtractEnergy(int maxExtract, boolean simulate) {
     return super.extractEnergy(maxExtract, simulate);
   }
@@ -110,6 +154,23 @@ public class ChargeStorageBlockImpl extends EnergyStorage implements ChargeStora
         Integer.toHexString(hashCode()), this.energy);
   }
 
+  /**
+   * Notified around every change that could affect the values a battery reports, so that the
+   * owner can keep running totals without re-reading every battery.
+   */
+  public interface Listener {
+
+    /**
+     * Called while the battery still reports its old values.
+     */
+    void beforeChange(ChargeStorageBlockImpl battery);
+
+    /**
+     * Called once the battery reports its new values.
+     */
+    void afterChange(ChargeStorageBlockImpl battery, State previousState);
+  }
+
   private enum StateImpl {
     INFINITE {
       @Override
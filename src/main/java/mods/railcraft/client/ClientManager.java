@@ -46,11 +46,13 @@ import mods.railcraft.client.renderer.blockentity.RailcraftBlockEntityRenderers;
 import mods.railcraft.client.renderer.entity.RailcraftEntityRenderers;
 import mods.railcraft.integrations.patchouli.Patchouli;
 import mods.railcraft.particle.RailcraftParticleTypes;
+import mods.railcraft.world.entity.vehicle.ClientCartIndex;
 import mods.railcraft.world.inventory.ManualRollingMachineMenu;
 import mods.railcraft.world.inventory.RailcraftMenuTypes;
 import mods.railcraft.world.item.GogglesItem;
 import mods.railcraft.world.item.LocomotiveItem;
 import mods.railcraft.world.item.RailcraftItems;
+import mods.railcraft.world.item.crafting.RecipeCache;
 import mods.railcraft.world.level.block.ForceTrackEmitterBlock;
 import mods.railcraft.world.level.block.RailcraftBlocks;
 import mods.railcraft.world.level.block.track.ForceTrackBlock;
@@ -61,16 +63,20 @@ import net.minecraft.client.renderer.BiomeColors;
 import net.minecraft.network.chat.ClickEvent;
 import net.minecraft.network.chat.CommonComponents;
 import net.minecraft.network.chat.Component;
+import net.minecraft.world.entity.vehicle.AbstractMinecart;
 import net.minecraft.world.level.GrassColor;
 import net.minecraftforge.client.event.ClientPlayerNetworkEvent;
 import net.minecraftforge.client.event.EntityRenderersEvent;
 import net.minecraftforge.client.event.InputEvent;
+import net.minecraftforge.client.event.RecipesUpdatedEvent;
 import net.minecraftforge.client.event.RegisterColorHandlersEvent;
 import net.minecraftforge.client.event.RegisterKeyMappingsEvent;
 import net.minecraftforge.client.event.RegisterParticleProvidersEvent;
 import net.minecraftforge.client.event.RenderLevelStageEvent;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.EntityJoinLevelEvent;
+import net.minecraftforge.event.entity.EntityLeaveLevelEvent;
 import net.minecraftforge.event.entity.player.ItemTooltipEvent;
 import net.minecraftforge.eventbus.api.IEventBus;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
@@ -223,6 +229,26 @@ public class ClientManager {
   @SubscribeEvent
   static void handleClientLoggedOut(ClientPlayerNetworkEvent.LoggingOut event) {
     shuntingAuraRenderer.clearCarts();
+    ClientCartIndex.clear();
+  }
+
+  @SubscribeEvent
+  static void handleEntityJoinLevel(EntityJoinLevelEvent event) {
+    if (event.getLevel().isClientSide() && event.getEntity() instanceof AbstractMinecart cart) {
+      ClientCartIndex.add(cart);
+    }
+  }
+
+  @SubscribeEvent
+  static void handleEntityLeaveLevel(EntityLeaveLevelEvent event) {
+    if (event.getLevel().isClientSide() && event.getEntity() instanceof AbstractMinecart cart) {
+      ClientCartIndex.remove(cart);
+    }
+  }
+
+  @SubscribeEvent
+  static void handleRecipesUpdated(RecipesUpdatedEvent event) {
+    RecipeCache.invalidate(event.getRecipeManager());
   }
 
   @SuppressWarnings("unused")
@@ -3,6 +3,8 @@ package mods.railcraft.client.renderer;
 import java.util.Collection;
 import com.mojang.blaze3d.vertex.PoseStack;
 import com.mojang.blaze3d.vertex.VertexConsumer;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import mods.railcraft.client.util.RenderUtil;
 import mods.railcraft.network.play.LinkedCartsMessage;
 import mods.railcraft.world.item.GogglesItem;
@@ -16,18 +18,25 @@ import net.minecraft.world.level.Level;
 
 public class ShuntingAuraRenderer {
 
-  private Collection<LinkedCartsMessage.LinkedCart> linkedCarts;
+  private final Int2ObjectMap<LinkedCartsMessage.LinkedCart> linkedCarts =
+      new Int2ObjectOpenHashMap<>();
 
   public void clearCarts() {
-    this.linkedCarts = null;
+    this.linkedCarts.clear();
   }
 
-  public void setLinkedCarts(Collection<LinkedCartsMessage.LinkedCart> linkedCarts) {
-    this.linkedCarts = linkedCarts;
+  public void updateLinkedCarts(Collection<LinkedCartsMessage.LinkedCart> linkedCarts,
+      int[] removedCartIds) {
+    for (var linkedCart : linkedCarts) {
+      this.linkedCarts.put(linkedCart.entityId(), linkedCart);
+    }
+    for (var cartId : removedCartIds) {
+      this.linkedCarts.remove(cartId);
+    }
   }
 
   public void render(PoseStack poseStack, Camera mainCamera, float partialTick) {
-    if (this.linkedCarts == null) {
+    if (this.linkedCarts.isEmpty()) {
       return;
     }
 
@@ -40,7 +49,7 @@ public class ShuntingAuraRenderer {
         var projectedView = mainCamera.getPosition();
         poseStack.translate(-projectedView.x, -projectedView.y, -projectedView.z);
 
-        for (var linkedCart : this.linkedCarts) {
+        for (var linkedCart : this.linkedCarts.values()) {
           var entity = player.level().getEntity(linkedCart.entityId());
           if (!(entity instanceof AbstractMinecart cart) || linkedCart.trainId() == null) {
             continue;
@@ -5,6 +5,7 @@ import mods.railcraft.network.play.EditRoutingTableBookMessage;
 import mods.railcraft.network.play.EditTicketAttributeMessage;
 import mods.railcraft.network.play.LinkedCartsMessage;
 import mods.railcraft.network.play.OpenLogBookScreen;
+import mods.railcraft.network.play.RequestBlockEntitySyncMessage;
 import mods.railcraft.network.play.SetActionSignalBoxAttributesMessage;
 import mods.railcraft.network.play.SetAnalogSignalControllerBoxAttributesMessage;
 import mods.railcraft.network.play.SetEmbarkingTrackAttributesMessage;
@@ -18,6 +19,7 @@ import mods.railcraft.network.play.SetSignalCapacitorBoxAttributesMessage;
 import mods.railcraft.network.play.SetSignalControllerBoxAttributesMessage;
 import mods.railcraft.network.play.SetSwitchTrackMotorAttributesMessage;
 import mods.railcraft.network.play.SetSwitchTrackRouterAttributesMessage;
+import mods.railcraft.network.play.SyncBlockEntityMessage;
 import mods.railcraft.network.play.SyncWidgetMessage;
 import mods.railcraft.network.play.UpdateAuraByKeyMessage;
 import net.minecraft.core.BlockPos;
@@ -25,6 +27,7 @@ import net.minecraft.network.protocol.Packet;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.Entity;
 import net.minecraft.world.level.Level;
 import net.minecraftforge.network.NetworkDirection;
 import net.minecraftforge.network.NetworkRegistry;
@@ -83,7 +86,7 @@ public enum NetworkChannel {
           .messageBuilder(LinkedCartsMessage.class, 0x06, NetworkDirection.PLAY_TO_CLIENT)
           .encoder(LinkedCartsMessage::encode)
           .decoder(LinkedCartsMessage::decode)
-          .consumerNetworkThread(LinkedCartsMessage::handle)
+          .consumerMainThread(LinkedCartsMessage::handle)
           .add();
       simpleChannel
           .messageBuilder(SetActionSignalBoxAttributesMessage.class, 0x07,
@@ -167,6 +170,19 @@ public enum NetworkChannel {
           .decoder(UpdateAuraByKeyMessage::decode)
           .consumerMainThread(UpdateAuraByKeyMessage::handle)
           .add();
+      simpleChannel
+          .messageBuilder(SyncBlockEntityMessage.class, 0x13, NetworkDirection.PLAY_TO_CLIENT)
+          .encoder(SyncBlockEntityMessage::encode)
+          .decoder(SyncBlockEntityMessage::decode)
+          .consumerMainThread(SyncBlockEntityMessage::handle)
+          .add();
+      simpleChannel
+          .messageBuilder(RequestBlockEntitySyncMessage.class, 0x14,
+              NetworkDirection.PLAY_TO_SERVER)
+          .encoder(RequestBlockEntitySyncMessage::encode)
+          .decoder(RequestBlockEntitySyncMessage::decode)
+          .consumerMainThread(RequestBlockEntitySyncMessage::handle)
+          .add();
     }
   };
 
@@ -200,6 +216,10 @@ public enum NetworkChannel {
     this.simpleChannel.send(PacketDistributor.PLAYER.with(() -> player), packet);
   }
 
+  public void sendToTrackingEntity(Object packet, Entity entity) {
+    this.simpleChannel.send(PacketDistributor.TRACKING_ENTITY.with(() -> entity), packet);
+  }
+
   public void sendToAll(Object packet) {
     this.simpleChannel.send(PacketDistributor.ALL.noArg(), packet);
   }
@@ -212,6 +232,18 @@ public enum NetworkChannel {
     this.simpleChannel.send(PacketDistributor.DIMENSION.with(() -> dimensionId), packet);
   }
 
+  /**
+   * Sends a message on this channel to the players tracking the chunk at the specified position.
+   * Vanilla packets go through {@link #sendToTrackingChunk(Packet, ServerLevel, BlockPos)}.
+   */
+  @SuppressWarnings("deprecation")
+  public void sendToChunk(Object packet, ServerLevel level, BlockPos blockPos) {
+    if (level.hasChunkAt(blockPos)) {
+      this.simpleChannel.send(
+          PacketDistributor.TRACKING_CHUNK.with(() -> level.getChunkAt(blockPos)), packet);
+    }
+  }
+
   @SuppressWarnings("deprecation")
   public static void sendToTrackingChunk(Packet<?> packet, ServerLevel level, BlockPos blockPos) {
     if (level.hasChunkAt(blockPos)) {
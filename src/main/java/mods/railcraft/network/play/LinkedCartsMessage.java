@@ -1,6 +1,7 @@
 package mods.railcraft.network.play;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 import java.util.function.Supplier;
 import org.jetbrains.annotations.Nullable;
@@ -11,18 +12,33 @@ import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.world.entity.vehicle.AbstractMinecart;
 import net.minecraftforge.network.NetworkEvent;
 
-public record LinkedCartsMessage(Collection<LinkedCart> linkedCarts) {
+/**
+ * Tells a client about changes to the links of the carts it tracks. Carts are sent when the
+ * client starts tracking them and whenever their links or train change, and are forgotten when the
+ * client stops tracking them.
+ */
+public record LinkedCartsMessage(Collection<LinkedCart> linkedCarts, int[] removedCartIds) {
+
+  public static LinkedCartsMessage update(RollingStock rollingStock) {
+    return new LinkedCartsMessage(List.of(new LinkedCart(rollingStock)), new int[0]);
+  }
+
+  public static LinkedCartsMessage remove(AbstractMinecart cart) {
+    return new LinkedCartsMessage(List.of(), new int[] {cart.getId()});
+  }
 
   public void encode(FriendlyByteBuf out) {
     out.writeCollection(this.linkedCarts, (buf, cart) -> cart.encode(buf));
+    out.writeVarIntArray(this.removedCartIds);
   }
 
   public static LinkedCartsMessage decode(FriendlyByteBuf in) {
-    return new LinkedCartsMessage(in.readList(LinkedCart::decode));
+    return new LinkedCartsMessage(in.readList(LinkedCart::decode), in.readVarIntArray());
   }
 
   public boolean handle(Supplier<NetworkEvent.Context> context) {
-    ClientManager.getShuntingAuraRenderer().setLinkedCarts(this.linkedCarts);
+    ClientManager.getShuntingAuraRenderer()
+        .updateLinkedCarts(this.linkedCarts, this.removedCartIds);
     return true;
   }
 
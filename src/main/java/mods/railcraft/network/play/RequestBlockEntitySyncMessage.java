@@ -0,0 +1,39 @@
+package mods.railcraft.network.play;
+
+import java.util.function.Supplier;
+import mods.railcraft.world.level.block.entity.RailcraftBlockEntity;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraftforge.network.NetworkEvent;
+
+/**
+ * Asks the server for the full sync data of a block entity, sent by a client that can no longer
+ * apply patches to what it has.
+ *
+ * @param blockPos - the position of the block entity
+ */
+public record RequestBlockEntitySyncMessage(BlockPos blockPos) {
+
+  public void encode(FriendlyByteBuf out) {
+    out.writeBlockPos(this.blockPos);
+  }
+
+  public static RequestBlockEntitySyncMessage decode(FriendlyByteBuf in) {
+    return new RequestBlockEntitySyncMessage(in.readBlockPos());
+  }
+
+  public boolean handle(Supplier<NetworkEvent.Context> context) {
+    var player = context.get().getSender();
+    var level = (ServerLevel) player.level();
+    // Only answer for chunks the player is actually being sent
+    if (level.isLoaded(this.blockPos)
+        && level.getChunkSource().chunkMap
+            .getPlayers(new ChunkPos(this.blockPos), false).contains(player)
+        && level.getBlockEntity(this.blockPos) instanceof RailcraftBlockEntity blockEntity) {
+      player.connection.send(blockEntity.getUpdatePacket());
+    }
+    return true;
+  }
+}
@@ -0,0 +1,44 @@
+package mods.railcraft.network.play;
+
+import java.util.function.Supplier;
+import mods.railcraft.world.level.block.entity.RailcraftBlockEntity;
+import net.minecraft.client.Minecraft;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.network.NetworkEvent;
+
+/**
+ * Patches the sync data a client last received for a block entity, only the bytes between the
+ * unchanged prefix and suffix of the data are sent.
+ *
+ * @param blockPos - the position of the block entity
+ * @param baseHash - the hash of the data the patch applies to
+ * @param length - the length of the patched data
+ * @param offset - the length of the unchanged prefix
+ * @param patch - the bytes replacing everything between the prefix and suffix
+ */
+public record SyncBlockEntityMessage(BlockPos blockPos, int baseHash, int length, int offset,
+    byte[] patch) {
+
+  public void encode(FriendlyByteBuf out) {
+    out.writeBlockPos(this.blockPos);
+    out.writeInt(this.baseHash);
+    out.writeVarInt(this.length);
+    out.writeVarInt(this.offset);
+    out.writeByteArray(this.patch);
+  }
+
+  public static SyncBlockEntityMessage decode(FriendlyByteBuf in) {
+    return new SyncBlockEntityMessage(in.readBlockPos(), in.readInt(), in.readVarInt(),
+        in.readVarInt(), in.readByteArray());
+  }
+
+  public boolean handle(Supplier<NetworkEvent.Context> ctx) {
+    var level = Minecraft.getInstance().level;
+    if (level != null
+        && level.getBlockEntity(this.blockPos) instanceof RailcraftBlockEntity blockEntity) {
+      blockEntity.applySyncPatch(this);
+    }
+    return true;
+  }
+}
@@ -1,6 +1,5 @@
 package mods.railcraft.util;
 
-import java.util.Arrays;
 import java.util.Collection;
 import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.fluids.capability.IFluidHandler;
@@ -129,26 +128,27 @@ public class CompositeFluidHandler implements IFluidHandler {
 
   @Override
   public int getTanks() {
-    return Arrays.stream(this.fluidHandlers)
-        .mapToInt(IFluidHandler::getTanks)
-        .sum();
+    return this.slotCount;
   }
 
   @Override
   public FluidStack getFluidInTank(int tank) {
     int index = this.getIndexForTank(tank);
-    return this.getHandlerFromIndex(index).getFluidInTank(tank);
+    return this.getHandlerFromIndex(index)
+        .getFluidInTank(this.getSlotFromIndex(tank, index));
   }
 
   @Override
   public int getTankCapacity(int tank) {
     int index = this.getIndexForTank(tank);
-    return this.getHandlerFromIndex(index).getTankCapacity(tank);
+    return this.getHandlerFromIndex(index)
+        .getTankCapacity(this.getSlotFromIndex(tank, index));
   }
 
   @Override
   public boolean isFluidValid(int tank, FluidStack stack) {
     int index = this.getIndexForTank(tank);
-    return this.getHandlerFromIndex(index).isFluidValid(tank, stack);
+    return this.getHandlerFromIndex(index)
+        .isFluidValid(this.getSlotFromIndex(tank, index), stack);
   }
 }
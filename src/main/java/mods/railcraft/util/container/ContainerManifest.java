@@ -36,6 +36,17 @@ public final class ContainerManifest
     return entry.count();
   }
 
+  /**
+   * Adjusts the count of an entry after items have been moved in or out of the containers, so the
+   * manifest can be kept up to date without being recreated.
+   *
+   * @param key - the item that was moved
+   * @param delta - the number of items added, negative if items were removed
+   */
+  public void adjust(ItemStackKey key, int delta) {
+    this.entries.computeIfAbsent(key, ManifestEntry::new).count += delta;
+  }
+
   public Stream<ItemStack> streamValueStacks() {
     return this.entries.values().stream().flatMap(ManifestEntry::stream);
   }
@@ -54,6 +65,7 @@ public final class ContainerManifest
       entry = new ManifestEntry(key);
     }
     entry.stacks.add(stack.copy());
+    entry.count += stack.getCount();
     return entry;
   }
 
@@ -111,6 +123,7 @@ public final class ContainerManifest
 
     private final ItemStackKey key;
     final List<ItemStack> stacks = new ArrayList<>();
+    private int count;
 
     public ManifestEntry(ItemStackKey key) {
       this.key = key;
@@ -121,7 +134,7 @@ public final class ContainerManifest
     }
 
     public int count() {
-      return stacks.stream().mapToInt(ItemStack::getCount).sum();
+      return this.count;
     }
 
     public List<ItemStack> stacks() {
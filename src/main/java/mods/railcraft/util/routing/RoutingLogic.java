@@ -2,8 +2,18 @@ package mods.railcraft.util.routing;
 
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Deque;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
+import org.jetbrains.annotations.Nullable;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.MapMaker;
+import com.mojang.authlib.GameProfile;
 import mods.railcraft.Translations;
 import mods.railcraft.api.carts.NeedsFuel;
 import mods.railcraft.api.carts.Paintable;
@@ -19,25 +29,71 @@ import mods.railcraft.util.routing.expression.condition.RedstoneCondition;
 import mods.railcraft.util.routing.expression.condition.RefuelCondition;
 import mods.railcraft.util.routing.expression.condition.RiderCondition;
 import mods.railcraft.util.routing.expression.condition.TypeCondition;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.item.DyeColor;
 
-public record RoutingLogic(Deque<Expression> expressions) {
+/**
+ * A compiled routing table.
+ *
+ * <p>Tables are parsed once into a flat array of top level expressions, and identical tables are
+ * shared between routers. Decisions are memoized per cart and only re-evaluated when the state the
+ * table reads from has changed, so a train passing a chain of routers carrying the same table only
+ * evaluates it once.
+ */
+public final class RoutingLogic {
+
+  /**
+   * Compiled tables keyed by their significant lines, held for as long as a router uses them.
+   */
+  private static final Cache<List<String>, RoutingLogic> COMPILED_TABLES =
+      CacheBuilder.newBuilder().weakValues().build();
+
+  private final Expression[] expressions;
+  /**
+   * Whether the table reads the state of the router evaluating it.
+   */
+  private final boolean routerDependent;
+  /**
+   * Whether the table reads state spread across the whole train, such tables are not memoized.
+   */
+  private final boolean trainDependent;
+  private final Map<Entity, Decision> decisions = new MapMaker().weakKeys().makeMap();
+
+  private RoutingLogic(Expression[] expressions, Set<Input> inputs) {
+    this.expressions = expressions;
+    this.routerDependent = inputs.contains(Input.ROUTER);
+    this.trainDependent = inputs.contains(Input.TRAIN);
+  }
 
   public static RoutingLogic parseTable(Deque<String> data) throws RoutingLogicException {
-    Deque<Expression> stack = new ArrayDeque<>();
-    var it = data.descendingIterator();
-    while (it.hasNext()) {
-      String line = it.next().trim();
+    List<String> lines = new ArrayList<>(data.size());
+    for (var line : data) {
+      line = line.trim();
       if (line.startsWith("//") || line.startsWith("#") || line.isEmpty()) {
         continue;
       }
-      stack.push(parseLine(line, stack));
+      lines.add(line);
+    }
+
+    var logic = COMPILED_TABLES.getIfPresent(lines);
+    if (logic == null) {
+      logic = compile(lines);
+      COMPILED_TABLES.put(lines, logic);
     }
-    return new RoutingLogic(stack);
+    return logic;
+  }
+
+  private static RoutingLogic compile(List<String> lines) throws RoutingLogicException {
+    Deque<Expression> stack = new ArrayDeque<>();
+    var inputs = EnumSet.noneOf(Input.class);
+    for (int i = lines.size() - 1; i >= 0; i--) {
+      stack.push(parseLine(lines.get(i), stack, inputs));
+    }
+    return new RoutingLogic(stack.toArray(Expression[]::new), inputs);
   }
 
   private static RollingStock getRoutableCart(RollingStock rollingStock) {
-    var train = rollingStock.train();
-    if (train.size() <= 1) {
+    if (!rollingStock.isLinked()) {
       return rollingStock;
     }
     if (rollingStock.isEnd()) {
@@ -51,19 +107,35 @@ public record RoutingLogic(Deque<Expression> expressions) {
         return rollingStock;
       }
     }
-    return train.front();
+    return rollingStock.train().front();
   }
 
   public boolean matches(RouterBlockEntity router, RollingStock rollingStock) {
-    if (this.expressions == null) {
-      return false;
-    }
     var controllingCart = getRoutableCart(rollingStock);
-    return this.expressions.stream()
-        .anyMatch(expression -> expression.evaluate(router, controllingCart));
+    if (this.trainDependent) {
+      return this.evaluate(router, controllingCart);
+    }
+    var state = CartState.of(controllingCart);
+    var powered = this.routerDependent && router.isPowered();
+    var decision = this.decisions.get(controllingCart.entity());
+    if (decision != null && decision.powered == powered && decision.state.equals(state)) {
+      return decision.result;
+    }
+    var result = this.evaluate(router, controllingCart);
+    this.decisions.put(controllingCart.entity(), new Decision(state, powered, result));
+    return result;
+  }
+
+  private boolean evaluate(RouterBlockEntity router, RollingStock rollingStock) {
+    for (var expression : this.expressions) {
+      if (expression.evaluate(router, rollingStock)) {
+        return true;
+      }
+    }
+    return false;
   }
 
-  private static Expression parseLine(String line, Deque<Expression> stack)
+  private static Expression parseLine(String line, Deque<Expression> stack, Set<Input> inputs)
       throws RoutingLogicException {
     try {
       if (line.startsWith(DestCondition.KEYWORD)) {
@@ -82,12 +154,15 @@ public record RoutingLogic(Deque<Expression> expressions) {
         return TypeCondition.parse(line);
       }
       if (line.startsWith(RefuelCondition.KEYWORD)) {
+        inputs.add(Input.TRAIN);
         return RefuelCondition.parse(line);
       }
       if (line.startsWith(RiderCondition.KEYWORD)) {
+        inputs.add(Input.TRAIN);
         return RiderCondition.parse(line);
       }
       if (line.startsWith(RedstoneCondition.KEYWORD)) {
+        inputs.add(Input.ROUTER);
         return RedstoneCondition.parse(line);
       }
       if (line.startsWith(LocomotiveCondition.KEYWORD)) {
@@ -124,4 +199,37 @@ public record RoutingLogic(Deque<Expression> expressions) {
     }
     throw new RoutingLogicException(Translations.RoutingTable.UNRECOGNIZED_KEYWORD, line);
   }
+
+  /**
+   * The state a table reads beyond the controlling cart itself.
+   */
+  private enum Input {
+    TRAIN,
+    ROUTER
+  }
+
+  /**
+   * The mutable state of a cart read by cart conditions. The cart's type never changes, so it is
+   * covered by keying decisions on the cart.
+   */
+  private record CartState(@Nullable String destination, @Nullable String name,
+      @Nullable DyeColor primaryColor, @Nullable DyeColor secondaryColor,
+      @Nullable String owner) {
+
+    private static CartState of(RollingStock rollingStock) {
+      var entity = rollingStock.entity();
+      var destination = entity instanceof Routable routable ? routable.getDestination() : null;
+      var name = entity.hasCustomName() ? entity.getCustomName().getString() : null;
+      DyeColor primaryColor = null;
+      DyeColor secondaryColor = null;
+      if (entity instanceof Paintable paintable) {
+        primaryColor = paintable.getPrimaryDyeColor();
+        secondaryColor = paintable.getSecondaryDyeColor();
+      }
+      var owner = rollingStock.owner().map(GameProfile::getName).orElse(null);
+      return new CartState(destination, name, primaryColor, secondaryColor, owner);
+    }
+  }
+
+  private record Decision(CartState state, boolean powered, boolean result) {}
 }
@@ -11,26 +11,33 @@ public class RoutingStatementParser {
 
   public static ParsedStatement parse(String keyword, boolean supportsRegex, String line)
       throws RoutingLogicException {
-    String keywordMatch = keyword + REGEX_SYMBOL + "?=";
-    if (!line.matches(keywordMatch + ".*")) {
+    var isRegex = line.startsWith(keyword + "?=");
+    if (!isRegex && !line.startsWith(keyword + "=")) {
       throw new RoutingLogicException(Translations.RoutingTable.UNRECOGNIZED_KEYWORD, line);
     }
-    var isRegex = line.matches(keyword + REGEX_SYMBOL + "=.*");
     if (!supportsRegex && isRegex) {
       throw new RoutingLogicException(Translations.RoutingTable.ERROR_UNSUPPORTED_REGEX, line);
     }
-    var value = line.replaceFirst(keywordMatch, "");
+    var value = line.substring(keyword.length() + (isRegex ? 2 : 1));
     Pattern pattern = null;
     if (isRegex) {
-      try {
-        pattern = Pattern.compile(line);
-      } catch (PatternSyntaxException ex) {
-        throw new RoutingLogicException(Translations.RoutingTable.ERROR_INVALID_REGEX, line);
-      }
+      pattern = compile(value, line);
     }
     return new ParsedStatement(value, pattern);
   }
 
+  /**
+   * Compiles a regex found in a routing statement, patterns are compiled once when the table is
+   * parsed and never while routing.
+   */
+  public static Pattern compile(String regex, String line) throws RoutingLogicException {
+    try {
+      return Pattern.compile(regex);
+    } catch (PatternSyntaxException ex) {
+      throw new RoutingLogicException(Translations.RoutingTable.ERROR_INVALID_REGEX, line);
+    }
+  }
+
   public record ParsedStatement(String value, @Nullable Pattern pattern) {
 
     public boolean isRegex() {
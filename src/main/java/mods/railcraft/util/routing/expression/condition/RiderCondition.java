@@ -3,7 +3,9 @@ package mods.railcraft.util.routing.expression.condition;
 import java.util.Locale;
 import java.util.function.BiPredicate;
 import java.util.function.Predicate;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
+import org.jetbrains.annotations.Nullable;
 import mods.railcraft.Translations;
 import mods.railcraft.util.routing.RoutingLogicException;
 import mods.railcraft.util.routing.RoutingStatementParser;
@@ -28,7 +30,10 @@ public class RiderCondition {
     }
     checkSyntax(type, tokens, line);
 
-    var context = new Context(statement, tokens);
+    var pattern = statement.isRegex()
+        ? RoutingStatementParser.compile(tokens[1], line)
+        : null;
+    var context = new Context(tokens, pattern);
     return (router, rollingStock) -> type.matches(rollingStock.train().passengers(), context);
   }
 
@@ -85,21 +90,15 @@ public class RiderCondition {
       if (context.tokens.length < 2) {
         return passengers.anyMatch(Player.class::isInstance);
       }
-      BiPredicate<String, String> predicate = context.statement.isRegex()
-          ? String::matches
-          : String::equalsIgnoreCase;
       return passengers.anyMatch(e -> e instanceof Player &&
-          predicate.test(e.getName().getString(), context.tokens[1]));
+          context.test(e.getName().getString()));
     }),
     NAMED((passengers, context) -> {
       if (context.tokens.length < 2) {
         return passengers.anyMatch(Entity::hasCustomName);
       }
-      BiPredicate<String, String> predicate = context.statement.isRegex()
-          ? String::matches
-          : String::equalsIgnoreCase;
       return passengers.anyMatch(e -> e.hasCustomName() &&
-          predicate.test(e.getCustomName().getString(), context.tokens[1]));
+          context.test(e.getCustomName().getString()));
     });
 
     private final BiPredicate<Stream<Entity>, Context> predicate;
@@ -117,5 +116,12 @@ public class RiderCondition {
     }
   }
 
-  private record Context(RoutingStatementParser.ParsedStatement statement, String[] tokens) {}
+  private record Context(String[] tokens, @Nullable Pattern pattern) {
+
+    private boolean test(String name) {
+      return this.pattern == null
+          ? this.tokens[1].equalsIgnoreCase(name)
+          : this.pattern.matcher(name).matches();
+    }
+  }
 }
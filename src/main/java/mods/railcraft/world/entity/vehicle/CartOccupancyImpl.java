@@ -0,0 +1,161 @@
+package mods.railcraft.world.entity.vehicle;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongConsumer;
+import java.util.function.Predicate;
+import com.google.common.collect.MapMaker;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import mods.railcraft.api.carts.CartOccupancy;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.vehicle.AbstractMinecart;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
+import net.minecraft.world.phys.AABB;
+
+/**
+ * Per-level index of the block each cart occupies, kept up to date by {@link RollingStockImpl} as
+ * carts cross block boundaries.
+ */
+public final class CartOccupancyImpl implements CartOccupancy {
+
+  private static final Map<ServerLevel, CartOccupancyImpl> occupancies =
+      new MapMaker().weakKeys().makeMap();
+
+  private final Long2ObjectMap<Set<AbstractMinecart>> cartsByPos = new Long2ObjectOpenHashMap<>();
+  private final Long2ObjectMap<List<ZoneImpl>> zonesByPos = new Long2ObjectOpenHashMap<>();
+
+  private CartOccupancyImpl() {}
+
+  public static CartOccupancyImpl get(ServerLevel level) {
+    return occupancies.computeIfAbsent(level, __ -> new CartOccupancyImpl());
+  }
+
+  @Override
+  public Collection<AbstractMinecart> cartsAt(BlockPos pos) {
+    var carts = this.cartsByPos.get(pos.asLong());
+    return carts == null ? Collections.emptySet() : Collections.unmodifiableSet(carts);
+  }
+
+  @Override
+  public Zone createZone(BoundingBox box) {
+    var zone = new ZoneImpl(box);
+    zone.forEachPos(pos -> {
+      this.zonesByPos.computeIfAbsent(pos, __ -> new ArrayList<>(1)).add(zone);
+      var carts = this.cartsByPos.get(pos);
+      if (carts != null) {
+        zone.carts.addAll(carts);
+      }
+    });
+    return zone;
+  }
+
+  /**
+   * Counts the carts occupying the blocks overlapped by the specified box.
+   *
+   * @param box - the box to count carts in
+   * @param filter - the carts to count
+   * @return the number of carts
+   */
+  int countCarts(AABB box, Predicate<? super AbstractMinecart> filter) {
+    var count = 0;
+    for (int x = Mth.floor(box.minX); x <= Mth.floor(box.maxX); x++) {
+      for (int y = Mth.floor(box.minY); y <= Mth.floor(box.maxY); y++) {
+        for (int z = Mth.floor(box.minZ); z <= Mth.floor(box.maxZ); z++) {
+          var carts = this.cartsByPos.get(BlockPos.asLong(x, y, z));
+          if (carts != null) {
+            for (var cart : carts) {
+              if (filter.test(cart)) {
+                count++;
+              }
+            }
+          }
+        }
+      }
+    }
+    return count;
+  }
+
+  void add(AbstractMinecart cart, long pos) {
+    this.cartsByPos.computeIfAbsent(pos, __ -> new ReferenceOpenHashSet<>()).add(cart);
+    var zones = this.zonesByPos.get(pos);
+    if (zones != null) {
+      for (var zone : zones) {
+        zone.carts.add(cart);
+      }
+    }
+  }
+
+  void remove(AbstractMinecart cart, long pos) {
+    var carts = this.cartsByPos.get(pos);
+    if (carts != null && carts.remove(cart) && carts.isEmpty()) {
+      this.cartsByPos.remove(pos);
+    }
+    var zones = this.zonesByPos.get(pos);
+    if (zones != null) {
+      for (var zone : zones) {
+        zone.carts.remove(cart);
+      }
+    }
+  }
+
+  void move(AbstractMinecart cart, long from, long to) {
+    this.remove(cart, from);
+    this.add(cart, to);
+  }
+
+  private final class ZoneImpl implements Zone {
+
+    private final BoundingBox box;
+    private final Set<AbstractMinecart> carts = new ReferenceOpenHashSet<>();
+    private final Collection<AbstractMinecart> unmodifiableCarts =
+        Collections.unmodifiableSet(this.carts);
+    private boolean released;
+
+    private ZoneImpl(BoundingBox box) {
+      this.box = box;
+    }
+
+    private void forEachPos(LongConsumer action) {
+      for (int x = this.box.minX(); x <= this.box.maxX(); x++) {
+        for (int y = this.box.minY(); y <= this.box.maxY(); y++) {
+          for (int z = this.box.minZ(); z <= this.box.maxZ(); z++) {
+            action.accept(BlockPos.asLong(x, y, z));
+          }
+        }
+      }
+    }
+
+    @Override
+    public BoundingBox box() {
+      return this.box;
+    }
+
+    @Override
+    public Collection<AbstractMinecart> carts() {
+      return this.unmodifiableCarts;
+    }
+
+    @Override
+    public void release() {
+      if (this.released) {
+        return;
+      }
+      this.released = true;
+      this.forEachPos(pos -> {
+        var zones = zonesByPos.get(pos);
+        if (zones != null && zones.remove(this) && zones.isEmpty()) {
+          zonesByPos.remove(pos);
+        }
+      });
+      this.carts.clear();
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package mods.railcraft.world.entity.vehicle;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.jetbrains.annotations.Nullable;
+import com.google.common.collect.MapMaker;
+import net.minecraft.world.entity.vehicle.AbstractMinecart;
+import net.minecraft.world.level.Level;
+
+/**
+ * Per-level index of the carts known to the client by UUID, kept up to date as carts join and
+ * leave client levels. Client levels can't look entities up by UUID themselves.
+ */
+public final class ClientCartIndex {
+
+  private static final Map<Level, Map<UUID, AbstractMinecart>> carts =
+      new MapMaker().weakKeys().makeMap();
+
+  private ClientCartIndex() {}
+
+  public static void add(AbstractMinecart cart) {
+    carts.computeIfAbsent(cart.level(), __ -> new HashMap<>()).put(cart.getUUID(), cart);
+  }
+
+  public static void remove(AbstractMinecart cart) {
+    var levelCarts = carts.get(cart.level());
+    // Only drop the mapping if it still belongs to this cart
+    if (levelCarts != null && levelCarts.remove(cart.getUUID(), cart) && levelCarts.isEmpty()) {
+      carts.remove(cart.level());
+    }
+  }
+
+  public static void clear() {
+    carts.clear();
+  }
+
+  @Nullable
+  static AbstractMinecart get(Level level, UUID id) {
+    var levelCarts = carts.get(level);
+    if (levelCarts == null) {
+      return null;
+    }
+    var cart = levelCarts.get(id);
+    return cart != null && cart.isAlive() ? cart : null;
+  }
+}
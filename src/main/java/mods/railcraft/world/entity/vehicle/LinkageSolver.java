@@ -0,0 +1,161 @@
+package mods.railcraft.world.entity.vehicle;
+
+import java.util.Arrays;
+import java.util.List;
+import mods.railcraft.api.carts.RollingStock;
+
+/**
+ * Keeps the carts of a train at their optimal distances. Runs once per tick over the whole train,
+ * treating each link as a constraint on the relative velocity of its two carts and relaxing all
+ * of them together, so a pull at one end reaches the other end in the same tick instead of
+ * bouncing along the train one link at a time.
+ */
+final class LinkageSolver {
+
+  private static final int ITERATIONS = 4;
+  private static final float STIFFNESS = 0.7F;
+  private static final float HS_STIFFNESS = 0.7F;
+  private static final float DAMPING = 0.4F;
+  private static final float HS_DAMPING = 0.3F;
+  private static final float FORCE_LIMITER = 6F;
+
+  // Indexed by member
+  private double[] velX = new double[0];
+  private double[] velZ = new double[0];
+  // Indexed by link, link i joins member i to member i + 1
+  private double[] normalX = new double[0];
+  private double[] normalZ = new double[0];
+  private double[] bias = new double[0];
+  private double[] relaxation = new double[0];
+  private float[] frontWeight = new float[0];
+  private float[] backWeight = new float[0];
+  private boolean[] active = new boolean[0];
+
+  /**
+   * Solves the links between consecutive members of a train, front to back.
+   *
+   * @param members - the members of the train, ordered from the front
+   */
+  void solve(List<RollingStock> members) {
+    var size = members.size();
+    if (size < 2) {
+      return;
+    }
+    this.ensureCapacity(size);
+
+    for (int i = 0; i < size; i++) {
+      var motion = members.get(i).entity().getDeltaMovement();
+      this.velX[i] = motion.x();
+      this.velZ[i] = motion.z();
+    }
+
+    var anyActive = false;
+    for (int i = 0; i < size - 1; i++) {
+      anyActive |= this.prepareLink(i, members.get(i), members.get(i + 1));
+    }
+    if (!anyActive) {
+      return;
+    }
+
+    for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+      // Alternate the sweep direction so neither end of the train is favoured
+      if ((iteration & 1) == 0) {
+        for (int i = 0; i < size - 1; i++) {
+          this.relaxLink(i);
+        }
+      } else {
+        for (int i = size - 2; i >= 0; i--) {
+          this.relaxLink(i);
+        }
+      }
+    }
+
+    for (int i = 0; i < size; i++) {
+      var cart = members.get(i).entity();
+      var motion = cart.getDeltaMovement();
+      if (motion.x() != this.velX[i] || motion.z() != this.velZ[i]) {
+        cart.setDeltaMovement(this.velX[i], motion.y(), this.velZ[i]);
+      }
+    }
+  }
+
+  private boolean prepareLink(int link, RollingStock front, RollingStock back) {
+    this.active[link] = false;
+    if (front.isLaunched() || front.isOnElevator() || back.isLaunched() || back.isOnElevator()) {
+      return false;
+    }
+
+    var frontCart = front.entity();
+    var backCart = back.entity();
+    // Carts in another dimension are left to time out, see RollingStockImpl#checkLink
+    if (frontCart.level() != backCart.level()) {
+      return false;
+    }
+
+    var dx = backCart.getX() - frontCart.getX();
+    var dz = backCart.getZ() - frontCart.getZ();
+    double dist = frontCart.distanceTo(backCart);
+    if (dist > RollingStockImpl.MAX_DISTANCE) {
+      return false;
+    }
+
+    var frontWeight = front.canCartBeAdjustedBy(back) ? 1.0F : 0.0F;
+    var backWeight = back.canCartBeAdjustedBy(front) ? 1.0F : 0.0F;
+    if (frontWeight + backWeight == 0.0F) {
+      return false;
+    }
+
+    var horizontal = Math.sqrt(dx * dx + dz * dz);
+    var highSpeed = front.isHighSpeed() || back.isHighSpeed();
+    var stiffness = highSpeed ? HS_STIFFNESS : STIFFNESS;
+    var stretch = dist - RollingStockImpl.getOptimalDistance(front, back);
+
+    this.normalX[link] = horizontal == 0.0 ? 0.0 : dx / horizontal;
+    this.normalZ[link] = horizontal == 0.0 ? 0.0 : dz / horizontal;
+    // The relative velocity that closes the stretch, positive when the carts move apart
+    this.bias[link] = limitForce(-stiffness * stretch);
+    this.relaxation[link] = highSpeed ? HS_DAMPING : DAMPING;
+    this.frontWeight[link] = frontWeight;
+    this.backWeight[link] = backWeight;
+    this.active[link] = true;
+    return true;
+  }
+
+  private void relaxLink(int link) {
+    if (!this.active[link]) {
+      return;
+    }
+    var front = link;
+    var back = link + 1;
+    var nx = this.normalX[link];
+    var nz = this.normalZ[link];
+    var relative = (this.velX[back] - this.velX[front]) * nx
+        + (this.velZ[back] - this.velZ[front]) * nz;
+    var frontWeight = this.frontWeight[link];
+    var backWeight = this.backWeight[link];
+    var impulse = this.relaxation[link] * (this.bias[link] - relative)
+        / (frontWeight + backWeight);
+    this.velX[front] -= frontWeight * impulse * nx;
+    this.velZ[front] -= frontWeight * impulse * nz;
+    this.velX[back] += backWeight * impulse * nx;
+    this.velZ[back] += backWeight * impulse * nz;
+  }
+
+  private void ensureCapacity(int size) {
+    if (this.velX.length < size) {
+      this.velX = Arrays.copyOf(this.velX, size);
+      this.velZ = Arrays.copyOf(this.velZ, size);
+      this.normalX = Arrays.copyOf(this.normalX, size);
+      this.normalZ = Arrays.copyOf(this.normalZ, size);
+      this.bias = Arrays.copyOf(this.bias, size);
+      this.relaxation = Arrays.copyOf(this.relaxation, size);
+      this.frontWeight = Arrays.copyOf(this.frontWeight, size);
+      this.backWeight = Arrays.copyOf(this.backWeight, size);
+      this.active = Arrays.copyOf(this.active, size);
+    }
+  }
+
+  private static double limitForce(double force) {
+    return Math.copySign(Math.min(Math.abs(force), FORCE_LIMITER), force);
+  }
+}
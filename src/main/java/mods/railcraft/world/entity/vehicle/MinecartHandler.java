@@ -1,16 +1,21 @@
 package mods.railcraft.world.entity.vehicle;
 
+import java.util.Set;
 import org.jetbrains.annotations.Nullable;
-import org.joml.Vector2d;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import mods.railcraft.RailcraftConfig;
 import mods.railcraft.api.carts.RollingStock;
 import mods.railcraft.api.carts.Side;
 import mods.railcraft.api.track.TrackUtil;
-import mods.railcraft.util.EntitySearcher;
 import mods.railcraft.util.ModEntitySelector;
 import mods.railcraft.world.level.block.RailcraftBlocks;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.tags.TagKey;
 import net.minecraft.world.entity.Entity;
-import net.minecraft.world.entity.EntitySelector;
+import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.MoverType;
 import net.minecraft.world.entity.animal.IronGolem;
@@ -20,7 +25,6 @@ import net.minecraft.world.entity.vehicle.AbstractMinecart;
 import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
 import net.minecraftforge.common.IMinecartCollisionHandler;
-import net.minecraftforge.registries.ForgeRegistries;
 
 public class MinecartHandler implements IMinecartCollisionHandler {
 
@@ -34,6 +38,9 @@ public class MinecartHandler implements IMinecartCollisionHandler {
   private static final float COLLISION_EXPANSION = 0.2f;
   private static final int MAX_INTERACT_DIST_SQ = 5 * 5;
 
+  @Nullable
+  private volatile Set<EntityType<?>> ignoredEntityTypes;
+
   @Override
   public void onEntityCollision(AbstractMinecart cart, Entity other) {
     var level = cart.level();
@@ -43,51 +50,47 @@ public class MinecartHandler implements IMinecartCollisionHandler {
       return;
     }
 
+    if (other instanceof Player otherPlayer && otherPlayer.isSpectator()) {
+      return;
+    }
+
     var rollingStock = RollingStock.getOrThrow(cart);
 
-    var link = rollingStock.linkAt(Side.BACK)
-        .map(RollingStock::entity)
-        .orElse(null);
-    if (link != null && (link == other || link.hasPassenger(other))) {
+    // Carts of the same train are kept apart by their links, as are their passengers
+    var otherCart = other instanceof AbstractMinecart minecart ? minecart : null;
+    var otherRollingStock = otherCart == null ? null : RollingStock.getOrThrow(otherCart);
+    if (otherRollingStock != null
+        && (rollingStock.isLinkedWith(otherRollingStock)
+            || rollingStock.isSameTrainAs(otherRollingStock))) {
       return;
     }
-    link = rollingStock.linkAt(Side.FRONT)
-        .map(RollingStock::entity)
-        .orElse(null);
-    if (link != null && (link == other || link.hasPassenger(other))) {
+    if (other.getVehicle() instanceof AbstractMinecart vehicle
+        && rollingStock.isLinkedWith(RollingStock.getOrThrow(vehicle))) {
       return;
     }
 
     var isLiving = other instanceof LivingEntity;
     var isPlayer = other instanceof Player;
 
-    if (other instanceof Player otherPlayer && otherPlayer.isSpectator()) {
-      return;
-    }
-
-    if (other instanceof AbstractMinecart otherCart) {
-      rollingStock.tryAutoLink(RollingStock.getOrThrow(otherCart));
+    if (otherRollingStock != null) {
+      rollingStock.tryAutoLink(otherRollingStock);
     }
 
     this.testHighSpeedCollision(rollingStock, other);
 
-    if (isLiving
-        && level.getBlockState(cart.blockPosition()).is(RailcraftBlocks.ELEVATOR_TRACK.get())
-        && other.getBoundingBox().minY < cart.getBoundingBox().maxY) {
+    var onElevator = isLiving
+        && level.getBlockState(cart.blockPosition()).is(RailcraftBlocks.ELEVATOR_TRACK.get());
+    if (onElevator && other.getBoundingBox().minY < cart.getBoundingBox().maxY) {
       other.move(MoverType.SELF,
           new Vec3(0, cart.getBoundingBox().maxY - other.getBoundingBox().minY, 0));
       other.setOnGround(true);
     }
 
     // TODO Config entry? ( Go for it -CJ )
-    if (level.getRandom().nextFloat() < 0.001f) {
-      var carts = EntitySearcher.findMinecarts()
-          .around(cart)
-          .and(EntitySelector.ENTITY_STILL_ALIVE, ModEntitySelector.NON_MECHANICAL)
-          .list(level);
-      if (carts.size() >= 12) {
-        rollingStock.primeExplosion();
-      }
+    if (level.getRandom().nextFloat() < 0.001f
+        && CartOccupancyImpl.get((ServerLevel) level).countCarts(cart.getBoundingBox(),
+            c -> c.isAlive() && ModEntitySelector.NON_MECHANICAL.test(c)) >= 12) {
+      rollingStock.primeExplosion();
     }
 
     Vec3 cartMotion = cart.getDeltaMovement();
@@ -102,13 +105,15 @@ public class MinecartHandler implements IMinecartCollisionHandler {
       }
     }
 
-    if (isLiving && level.getBlockState(cart.blockPosition())
-        .is(RailcraftBlocks.ELEVATOR_TRACK.get())) {
+    if (onElevator) {
       return;
     }
 
-    var sub = new Vector2d(other.getX(), other.getZ()).sub(cart.getX(), cart.getZ());
-    var unit = sub.equals(0, 0) ? sub : sub.normalize(); //Check for NaN
+    var subX = other.getX() - cart.getX();
+    var subZ = other.getZ() - cart.getZ();
+    var length = Math.sqrt(subX * subX + subZ * subZ);
+    var unitX = length == 0 ? 0 : subX / length; //Check for NaN
+    var unitZ = length == 0 ? 0 : subZ / length;
 
     double distance = cart.distanceTo(other);
     double depth = distance - OPTIMAL_DISTANCE;
@@ -116,24 +121,26 @@ public class MinecartHandler implements IMinecartCollisionHandler {
     double forceX = 0;
     double forceZ = 0;
 
+    var cartVelX = cartMotion.x();
+    var cartVelZ = cartMotion.z();
+    var otherVelX = other.getDeltaMovement().x();
+    var otherVelZ = other.getDeltaMovement().z();
+
     if (depth < 0) {
       double spring = isPlayer ? COEF_SPRING_PLAYER : COEF_SPRING;
-      double penaltyX = spring * depth * unit.x();
-      double penaltyZ = spring * depth * unit.y();
+      double penaltyX = spring * depth * unitX;
+      double penaltyZ = spring * depth * unitZ;
 
       forceX += penaltyX;
       forceZ += penaltyZ;
 
       if (!isPlayer) {
-        double impulseX = unit.x();
-        double impulseZ = unit.y();
+        double impulseX = unitX;
+        double impulseZ = unitZ;
         impulseX *= -(1.0 + COEF_RESTITUTION);
         impulseZ *= -(1.0 + COEF_RESTITUTION);
 
-        var cartVel = new Vector2d(cart.getDeltaMovement().x(), cart.getDeltaMovement().z());
-        var otherVel = new Vector2d(other.getDeltaMovement().x(), other.getDeltaMovement().z());
-
-        double dot = otherVel.sub(cartVel).dot(unit);
+        double dot = (otherVelX - cartVelX) * unitX + (otherVelZ - cartVelZ) * unitZ;
 
         impulseX *= dot;
         impulseZ *= dot;
@@ -145,7 +152,7 @@ public class MinecartHandler implements IMinecartCollisionHandler {
       }
     }
 
-    if (other instanceof AbstractMinecart otherCart) {
+    if (otherCart != null) {
       if (!cart.isPoweredCart() || otherCart.isPoweredCart()) {
         if (!TrackUtil.isCartLocked(cart)) {
           cart.setDeltaMovement(cart.getDeltaMovement().add(forceX, 0, forceZ));
@@ -157,15 +164,11 @@ public class MinecartHandler implements IMinecartCollisionHandler {
         }
       }
     } else {
-      var cartVel = new Vector2d(cart.getDeltaMovement().x(), cart.getDeltaMovement().z())
-          .add(forceX, forceZ);
-      var otherVel = new Vector2d(other.getDeltaMovement().x(), other.getDeltaMovement().z())
-          .sub(forceX, forceZ);
+      double dot = ((otherVelX - forceX) - (cartVelX + forceX)) * unitX
+          + ((otherVelZ - forceZ) - (cartVelZ + forceZ)) * unitZ;
 
-      double dot = otherVel.sub(cartVel).dot(unit);
-
-      double dampX = COEF_DAMPING * dot * unit.x();
-      double dampZ = COEF_DAMPING * dot * unit.y();
+      double dampX = COEF_DAMPING * dot * unitX;
+      double dampZ = COEF_DAMPING * dot * unitZ;
 
       forceX += dampX;
       forceZ += dampZ;
@@ -203,8 +206,7 @@ public class MinecartHandler implements IMinecartCollisionHandler {
         }
       }
 
-      if (!other.isAlive() || RailcraftConfig.SERVER.highSpeedTrackIgnoredEntities.get()
-          .contains(ForgeRegistries.ENTITY_TYPES.getKey(other.getType()).toString())) {
+      if (!other.isAlive() || this.getIgnoredEntityTypes().contains(other.getType())) {
         return;
       }
 
@@ -212,6 +214,34 @@ public class MinecartHandler implements IMinecartCollisionHandler {
     }
   }
 
+  private Set<EntityType<?>> getIgnoredEntityTypes() {
+    var entityTypes = this.ignoredEntityTypes;
+    if (entityTypes == null) {
+      entityTypes = new ReferenceOpenHashSet<>();
+      for (var name : RailcraftConfig.SERVER.highSpeedTrackIgnoredEntities.get()) {
+        if (name.startsWith("#")) {
+          var tag = TagKey.create(Registries.ENTITY_TYPE, new ResourceLocation(name.substring(1)));
+          for (var holder : BuiltInRegistries.ENTITY_TYPE.getTagOrEmpty(tag)) {
+            entityTypes.add(holder.value());
+          }
+        } else {
+          BuiltInRegistries.ENTITY_TYPE.getOptional(new ResourceLocation(name))
+              .ifPresent(entityTypes::add);
+        }
+      }
+      this.ignoredEntityTypes = entityTypes;
+    }
+    return entityTypes;
+  }
+
+  /**
+   * Discards the entity types ignored by high speed collisions, they are resolved again from the
+   * config on the next collision. Must be called whenever the config or tags change.
+   */
+  public void invalidateIgnoredEntityTypes() {
+    this.ignoredEntityTypes = null;
+  }
+
   @Override
   @Nullable
   public AABB getCollisionBox(AbstractMinecart cart, Entity other) {
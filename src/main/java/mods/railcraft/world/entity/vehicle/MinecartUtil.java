@@ -1,14 +1,16 @@
 package mods.railcraft.world.entity.vehicle;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import org.jetbrains.annotations.Nullable;
+import mods.railcraft.api.carts.CartOccupancy;
+import mods.railcraft.api.carts.CartUtil;
 import mods.railcraft.api.core.RailcraftFakePlayer;
 import mods.railcraft.api.track.TrackUtil;
 import mods.railcraft.util.EntitySearcher;
 import mods.railcraft.world.item.CartItem;
-import net.minecraft.client.multiplayer.ClientLevel;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.server.level.ServerLevel;
@@ -30,6 +32,20 @@ public final class MinecartUtil {
 
   private MinecartUtil() {}
 
+  /**
+   * Gets the carts occupying the specified block. On the server this is a read of the
+   * {@link CartOccupancy occupancy index}, the client falls back to searching the block.
+   *
+   * @param level - the level
+   * @param pos - the block to check
+   * @return the carts at that block
+   */
+  public static Collection<AbstractMinecart> cartsAt(Level level, BlockPos pos) {
+    return level instanceof ServerLevel serverLevel
+        ? CartUtil.occupancy(serverLevel).cartsAt(pos)
+        : EntitySearcher.findMinecarts().at(pos).list(level);
+  }
+
   /**
    * Returns the cart's "speed". It is not capped by the carts max speed, it instead returns the
    * cart's "potential" speed. Used by collision and linkage logic. Do not use this to determine how
@@ -151,17 +167,9 @@ public final class MinecartUtil {
     return getClientCartFromUUID(level, id);
   }
 
+  @Nullable
   private static AbstractMinecart getClientCartFromUUID(Level level, UUID id) {
-    if (!(level instanceof ClientLevel clientLevel))
-      return null;
-    // for performance reasons
-    // noinspection Convert2streamapi
-    for (Entity entity : clientLevel.entitiesForRendering()) {
-      if (entity instanceof AbstractMinecart abstractMinecart && entity.isAlive()
-          && entity.getUUID().equals(id))
-        return abstractMinecart;
-    }
-    return null;
+    return level.isClientSide() ? ClientCartIndex.get(level, id) : null;
   }
 
   public static boolean startBoost(AbstractMinecart cart, BlockPos pos,
@@ -3,7 +3,6 @@ package mods.railcraft.world.entity.vehicle;
 import java.util.Optional;
 import java.util.UUID;
 import org.jetbrains.annotations.Nullable;
-import org.joml.Vector2d;
 import org.slf4j.Logger;
 import com.mojang.authlib.GameProfile;
 import com.mojang.logging.LogUtils;
@@ -12,8 +11,9 @@ import mods.railcraft.api.carts.Linkable;
 import mods.railcraft.api.carts.RollingStock;
 import mods.railcraft.api.carts.Side;
 import mods.railcraft.api.carts.Train;
-import mods.railcraft.api.core.RailcraftConstants;
 import mods.railcraft.api.event.CartLinkEvent;
+import mods.railcraft.network.NetworkChannel;
+import mods.railcraft.network.play.LinkedCartsMessage;
 import mods.railcraft.world.entity.vehicle.locomotive.Locomotive;
 import mods.railcraft.world.level.block.track.ElevatorTrackBlock;
 import mods.railcraft.world.level.block.track.behaivor.HighSpeedTrackUtil;
@@ -30,7 +30,6 @@ import net.minecraft.world.level.block.BaseRailBlock;
 import net.minecraft.world.phys.Vec3;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.common.util.INBTSerializable;
-import net.minecraftforge.common.world.ForgeChunkManager;
 
 public class RollingStockImpl implements RollingStock, INBTSerializable<CompoundTag> {
 
@@ -38,12 +37,7 @@ public class RollingStockImpl implements RollingStock, INBTSerializable<Compound
 
   private static final double LINK_DRAG = 0.95;
 
-  private static final float MAX_DISTANCE = 8F;
-  private static final float STIFFNESS = 0.7F;
-  private static final float HS_STIFFNESS = 0.7F;
-  private static final float DAMPING = 0.4F;
-  private static final float HS_DAMPING = 0.3F;
-  private static final float FORCE_LIMITER = 6F;
+  static final float MAX_DISTANCE = 8F;
   private static final int DIMENSION_TIMEOUT_TICKS = 10 * SharedConstants.TICKS_PER_SECOND;
 
   private static final Logger logger = LogUtils.getLogger();
@@ -72,6 +66,8 @@ public class RollingStockImpl implements RollingStock, INBTSerializable<Compound
 
   private boolean explosionPending;
   private boolean highSpeed;
+  // Server only, set when the links or train of this cart need sending to tracking clients
+  private boolean linksChanged;
 
   private int primaryLinkTimeoutTicks;
   private int secondaryLinkTimeoutTicks;
@@ -79,6 +75,11 @@ public class RollingStockImpl implements RollingStock, INBTSerializable<Compound
   @Nullable
   private TrainImpl train;
 
+  // Server only
+  @Nullable
+  private CartOccupancyImpl occupancy;
+  private long occupiedPos;
+
   public RollingStockImpl(AbstractMinecart minecart) {
     this.minecart = minecart;
   }
@@ -105,19 +106,41 @@ public class RollingStockImpl implements RollingStock, INBTSerializable<Compound
       case FRONT -> this.frontLink = minecart;
       case BACK -> this.backLink = minecart;
     }
+    invalidateTrain(this);
   }
 
   private void resolveLinks() {
     if (this.unresolvedBackLink != null) {
-      this.resolveLink(this.unresolvedBackLink)
-          .ifPresent(cart -> this.backLink = cart);
+      var unresolvedBackLink = this.unresolvedBackLink;
       this.unresolvedBackLink = null;
+      this.resolveLink(unresolvedBackLink)
+          .ifPresent(cart -> this.setLink(Side.BACK, cart));
     }
 
     if (this.unresolvedFrontLink != null) {
-      this.resolveLink(this.unresolvedFrontLink)
-          .ifPresent(cart -> this.frontLink = cart);
+      var unresolvedFrontLink = this.unresolvedFrontLink;
       this.unresolvedFrontLink = null;
+      this.resolveLink(unresolvedFrontLink)
+          .ifPresent(cart -> this.setLink(Side.FRONT, cart));
+    }
+  }
+
+  /**
+   * Invalidates the cached members of the train the specified rolling stock currently belongs to,
+   * and flags every member so their links are sent to the clients tracking them. Follows the raw
+   * links so that it never triggers link resolution.
+   */
+  private static void invalidateTrain(RollingStock rollingStock) {
+    var current = rollingStock;
+    while (current instanceof RollingStockImpl impl && impl.frontLink != null) {
+      current = impl.frontLink;
+    }
+    if (current instanceof RollingStockImpl impl && impl.train != null) {
+      impl.train.invalidate();
+    }
+    while (current instanceof RollingStockImpl impl) {
+      impl.linksChanged = true;
+      current = impl.backLink;
     }
   }
 
@@ -142,14 +165,14 @@ public class RollingStockImpl implements RollingStock, INBTSerializable<Compound
     if (this.unresolvedBackLink != null
         && rollingStock.entity().getUUID().equals(this.unresolvedBackLink)) {
       this.unresolvedBackLink = null;
-      this.backLink = rollingStock;
+      this.setLink(Side.BACK, rollingStock);
       return Optional.of(Side.BACK);
     }
 
     if (this.unresolvedFrontLink != null
         && rollingStock.entity().getUUID().equals(this.unresolvedFrontLink)) {
       this.unresolvedFrontLink = null;
-      this.frontLink = rollingStock;
+      this.setLink(Side.FRONT, rollingStock);
       return Optional.of(Side.FRONT);
     }
 
@@ -191,7 +214,10 @@ public class RollingStockImpl implements RollingStock, INBTSerializable<Compound
 
       if (this.hasLink(side) && rollingStock.hasLink(side)) {
         // Reverse our train if both carts are facing each other
-        if (!this.swapLinks(side) && !rollingStock.swapLinks(side)) {
+        var swapped = this.swapLinks(side) || rollingStock.swapLinks(side);
+        invalidateTrain(this);
+        invalidateTrain(rollingStock);
+        if (!swapped) {
           return false;
         }
       }
@@ -451,19 +477,12 @@ public class RollingStockImpl implements RollingStock, INBTSerializable<Compound
 
   @Override
   public void removed(Entity.RemovalReason reason) {
+    if (this.occupancy != null) {
+      this.occupancy.remove(this.minecart, this.occupiedPos);
+      this.occupancy = null;
+    }
     if (reason.shouldDestroy()) {
-      this.forceChunk(false);
       this.unlinkAll();
-    } else {
-      this.forceChunk(this.train().size() > 1);
-    }
-  }
-
-  private void forceChunk(boolean add) {
-    if (this.level() instanceof ServerLevel level) {
-      var chunk = this.minecart.chunkPosition();
-      ForgeChunkManager.forceChunk(level, RailcraftConstants.ID, this.minecart.getUUID(),
-          chunk.x, chunk.z, add, false);
     }
   }
 
@@ -473,8 +492,14 @@ public class RollingStockImpl implements RollingStock, INBTSerializable<Compound
       return;
     }
 
+    this.updateOccupancy();
     this.adjustCart();
 
+    if (this.linksChanged) {
+      this.linksChanged = false;
+      NetworkChannel.GAME.sendToTrackingEntity(LinkedCartsMessage.update(this), this.minecart);
+    }
+
     if (this.preventMountRemainingTicks > 0) {
       this.preventMountRemainingTicks--;
     }
@@ -538,16 +563,35 @@ public class RollingStockImpl implements RollingStock, INBTSerializable<Compound
     this.minecart.setDeltaMovement(motionX, motionY, motionZ);
   }
 
+  private void updateOccupancy() {
+    var pos = this.minecart.blockPosition().asLong();
+    if (this.occupancy == null) {
+      this.occupancy = CartOccupancyImpl.get((ServerLevel) this.level());
+      this.occupancy.add(this.minecart, pos);
+      this.occupiedPos = pos;
+    } else if (pos != this.occupiedPos) {
+      this.occupancy.move(this.minecart, this.occupiedPos, pos);
+      this.occupiedPos = pos;
+    }
+  }
+
   /**
    * Inspects the links and determines if any physics adjustments need to be made.
    */
   private void adjustCart() {
+    // Done even when this cart is launched or on an elevator, the solver only skips the links
+    // touching such carts rather than the whole train
+    if (this.validateTrainOwnership()) {
+      this.train.solveLinks();
+      this.train.loadChunks((ServerLevel) this.level());
+    }
+
     if (this.isLaunched() || this.isOnElevator()) {
       return;
     }
 
-    var linkedA = this.maintainLink(Side.BACK);
-    var linkedB = this.maintainLink(Side.FRONT);
+    var linkedA = this.checkLink(Side.BACK);
+    var linkedB = this.checkLink(Side.FRONT);
     var linked = linkedA || linkedB;
 
     // Centroid
@@ -586,12 +630,13 @@ public class RollingStockImpl implements RollingStock, INBTSerializable<Compound
   }
 
   /**
-   * This is where the physics magic actually gets performed. It uses Spring Forces and Damping
-   * Forces to maintain a fixed distance between carts.
+   * Checks that a link can still be maintained, unlinking carts that have been apart for too long.
+   * The forces keeping linked carts together are applied by the {@link LinkageSolver} of their
+   * train.
    * 
    * @return {@code true} if linked, {@code false} otherwise
    */
-  public boolean maintainLink(Side linkType) {
+  private boolean checkLink(Side linkType) {
     var cart2 = this.linkAt(linkType).orElse(null);
     if (cart2 == null) {
       return false;
@@ -640,84 +685,6 @@ public class RollingStockImpl implements RollingStock, INBTSerializable<Compound
       return false;
     }
 
-    var adj1 = this.canCartBeAdjustedBy(cart2);
-    var adj2 = cart2.canCartBeAdjustedBy(this);
-
-    var cart1Pos = new Vector2d(this.minecart.getX(), this.minecart.getZ());
-    var cart2Pos = new Vector2d(cart2Entity.getX(), cart2Entity.getZ());
-
-    var sub = cart2Pos.sub(cart1Pos);
-    var unit = sub.equals(0, 0) ? sub : sub.normalize(); //Check for NaN
-
-    // Energy transfer
-
-    // double transX = TRANSFER * (cart2.motionX - cart1.motionX);
-    // double transZ = TRANSFER * (cart2.motionZ - cart1.motionZ);
-    //
-    // transX = limitForce(transX);
-    // transZ = limitForce(transZ);
-    //
-    // if(adj1) {
-    // cart1.motionX += transX;
-    // cart1.motionZ += transZ;
-    // }
-    //
-    // if(adj2) {
-    // cart2.motionX -= transX;
-    // cart2.motionZ -= transZ;
-    // }
-
-    // Spring force
-
-    float optDist = this.getOptimalDistance(cart2);
-    double stretch = dist - optDist;
-    // stretch = Math.max(0.0, stretch);
-    // if(Math.abs(stretch) > 0.5) {
-    // stretch *= 2;
-    // }
-
-    var highSpeed = this.isHighSpeed();
-
-    var stiffness = highSpeed ? HS_STIFFNESS : STIFFNESS;
-    var springX = stiffness * stretch * unit.x();
-    var springZ = stiffness * stretch * unit.y();
-
-    springX = limitForce(springX);
-    springZ = limitForce(springZ);
-
-    if (adj1) {
-      this.minecart.setDeltaMovement(this.minecart.getDeltaMovement().add(springX, 0.0D, springZ));
-    }
-
-    if (adj2) {
-      cart2Entity.setDeltaMovement(cart2Entity.getDeltaMovement().subtract(springX, 0.0D, springZ));
-    }
-
-    // Damping
-    var cart1Vel = new Vector2d(
-        this.minecart.getDeltaMovement().x(),
-        this.minecart.getDeltaMovement().z());
-    var cart2Vel = new Vector2d(
-        cart2Entity.getDeltaMovement().x(),
-        cart2Entity.getDeltaMovement().z());
-
-    var dot = cart2Vel.sub(cart1Vel).dot(unit);
-
-    var damping = highSpeed ? HS_DAMPING : DAMPING;
-    var dampX = damping * dot * unit.x();
-    var dampZ = damping * dot * unit.y();
-
-    dampX = limitForce(dampX);
-    dampZ = limitForce(dampZ);
-
-    if (adj1) {
-      this.minecart.setDeltaMovement(this.minecart.getDeltaMovement().add(dampX, 0.0D, dampZ));
-    }
-
-    if (adj2) {
-      cart2Entity.setDeltaMovement(cart2Entity.getDeltaMovement().subtract(dampX, 0.0D, dampZ));
-    }
-
     return true;
   }
 
@@ -729,30 +696,26 @@ public class RollingStockImpl implements RollingStock, INBTSerializable<Compound
   }
 
   /**
-   * Returns the optimal distance between two linked carts that the LinkageHandler will attempt to
-   * maintain at all times.
+   * Returns the optimal distance between two linked carts that the {@link LinkageSolver} will
+   * attempt to maintain at all times.
    *
-   * @param cart1 AbstractMinecartEntity
-   * @param cart2 AbstractMinecartEntity
+   * @param cart1 First Cart
+   * @param cart2 Second Cart
    * @return The optimal distance
    */
-  private float getOptimalDistance(RollingStock cart2) {
+  static float getOptimalDistance(RollingStock cart1, RollingStock cart2) {
     float dist = 0;
-    if (this.minecart instanceof Linkable handler)
+    if (cart1.entity() instanceof Linkable handler)
       dist += handler.getOptimalDistance(cart2);
     else
       dist += OPTIMAL_LINK_DISTANCE;
     if (cart2.entity() instanceof Linkable handler)
-      dist += handler.getOptimalDistance(this);
+      dist += handler.getOptimalDistance(cart1);
     else
       dist += OPTIMAL_LINK_DISTANCE;
     return dist;
   }
 
-  private static double limitForce(double force) {
-    return Math.copySign(Math.min(Math.abs(force), FORCE_LIMITER), force);
-  }
-
   /**
    * Returns the square of the max distance two carts can be and still be linkable.
    *
@@ -0,0 +1,169 @@
+package mods.railcraft.world.entity.vehicle;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import com.google.common.collect.MapMaker;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongMaps;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import mods.railcraft.api.carts.RollingStock;
+import mods.railcraft.api.core.RailcraftConstants;
+import net.minecraft.SharedConstants;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraftforge.common.world.ForgeChunkManager;
+
+/**
+ * Keeps the chunks under linked trains loaded. Each train claims the chunks its members are in,
+ * plus those just ahead of it while it's moving, under a single ticket owner. A chunk stays loaded
+ * for a while after its train stops claiming it, so a train running along a chunk border doesn't
+ * load and unload the same chunks over and over.
+ */
+public final class TrainChunkLoader {
+
+  private static final Map<ServerLevel, TrainChunkLoader> loaders =
+      new MapMaker().weakKeys().makeMap();
+
+  /**
+   * How far ahead of a moving train chunks are loaded, in blocks.
+   */
+  private static final int LOOK_AHEAD = 32;
+  private static final int LOOK_AHEAD_STEP = 8;
+  /**
+   * How long a chunk stays loaded once its train stops claiming it.
+   */
+  private static final int RELEASE_DELAY = SharedConstants.TICKS_PER_SECOND * 10;
+  private static final int RELEASE_INTERVAL = SharedConstants.TICKS_PER_SECOND;
+  /**
+   * The most chunks a train may hold, not counting the ones it's claiming right now.
+   */
+  private static final int MAX_HELD_CHUNKS = 64;
+  private static final double MIN_SPEED_SQR = 1.0E-6;
+
+  private final ServerLevel level;
+  // Owner -> chunk -> game time the chunk is released at
+  private final Map<UUID, Long2LongMap> held = new HashMap<>();
+  private final LongSet claimed = new LongOpenHashSet();
+
+  private TrainChunkLoader(ServerLevel level) {
+    this.level = level;
+  }
+
+  public static TrainChunkLoader get(ServerLevel level) {
+    return loaders.computeIfAbsent(level, TrainChunkLoader::new);
+  }
+
+  /**
+   * Adopts the tickets saved with the level, they're released unless their trains claim them again
+   * in time. Registered as our forced chunk loading callback.
+   */
+  public static void validateTickets(ServerLevel level, ForgeChunkManager.TicketHelper helper) {
+    var loader = get(level);
+    var releaseTime = level.getGameTime() + RELEASE_DELAY;
+    helper.getEntityTickets().forEach((owner, tickets) -> {
+      var chunks = loader.held.computeIfAbsent(owner, __ -> new Long2LongOpenHashMap());
+      tickets.getFirst().forEach(chunk -> chunks.put(chunk, releaseTime));
+    });
+  }
+
+  /**
+   * Claims the chunks a train needs for this tick.
+   *
+   * @param owner - the train's id
+   * @param members - the members of the train, ordered from the front
+   */
+  void claim(UUID owner, List<RollingStock> members) {
+    this.claimed.clear();
+    for (var member : members) {
+      var cart = member.entity();
+      if (cart.level() == this.level) {
+        this.claimed.add(cart.chunkPosition().toLong());
+      }
+    }
+
+    var front = members.get(0).entity();
+    var back = members.get(members.size() - 1).entity();
+    var motion = front.getDeltaMovement();
+    var speedSqr = motion.horizontalDistanceSqr();
+    if (speedSqr > MIN_SPEED_SQR && front.level() == this.level) {
+      // Look ahead of whichever end the train is moving towards
+      var lead = (front.getX() - back.getX()) * motion.x()
+          + (front.getZ() - back.getZ()) * motion.z() >= 0.0 || back.level() != this.level
+              ? front
+              : back;
+      var scale = LOOK_AHEAD_STEP / Math.sqrt(speedSqr);
+      var stepX = motion.x() * scale;
+      var stepZ = motion.z() * scale;
+      for (int i = 1; i * LOOK_AHEAD_STEP <= LOOK_AHEAD; i++) {
+        this.claimed.add(ChunkPos.asLong(
+            SectionPos.blockToSectionCoord(lead.getX() + stepX * i),
+            SectionPos.blockToSectionCoord(lead.getZ() + stepZ * i)));
+      }
+    }
+
+    var chunks = this.held.computeIfAbsent(owner, __ -> new Long2LongOpenHashMap());
+    var releaseTime = this.level.getGameTime() + RELEASE_DELAY;
+    var iterator = this.claimed.iterator();
+    while (iterator.hasNext()) {
+      var chunk = iterator.nextLong();
+      if (!chunks.containsKey(chunk)) {
+        this.forceChunk(owner, chunk, true);
+      }
+      chunks.put(chunk, releaseTime);
+    }
+
+    if (chunks.size() > this.claimed.size() + MAX_HELD_CHUNKS) {
+      this.releaseOldest(owner, chunks, chunks.size() - this.claimed.size() - MAX_HELD_CHUNKS);
+    }
+  }
+
+  /**
+   * Releases the chunks that haven't been claimed for a while.
+   */
+  public void tick() {
+    var gameTime = this.level.getGameTime();
+    if (gameTime % RELEASE_INTERVAL != 0) {
+      return;
+    }
+    var owners = this.held.entrySet().iterator();
+    while (owners.hasNext()) {
+      var entry = owners.next();
+      var chunks = Long2LongMaps.fastIterator(entry.getValue());
+      while (chunks.hasNext()) {
+        var chunk = chunks.next();
+        if (chunk.getLongValue() <= gameTime) {
+          this.forceChunk(entry.getKey(), chunk.getLongKey(), false);
+          chunks.remove();
+        }
+      }
+      if (entry.getValue().isEmpty()) {
+        owners.remove();
+      }
+    }
+  }
+
+  private void releaseOldest(UUID owner, Long2LongMap chunks, int count) {
+    for (int i = 0; i < count; i++) {
+      var oldest = 0L;
+      var oldestReleaseTime = Long.MAX_VALUE;
+      for (var chunk : Long2LongMaps.fastIterable(chunks)) {
+        if (chunk.getLongValue() < oldestReleaseTime) {
+          oldest = chunk.getLongKey();
+          oldestReleaseTime = chunk.getLongValue();
+        }
+      }
+      this.forceChunk(owner, oldest, false);
+      chunks.remove(oldest);
+    }
+  }
+
+  private void forceChunk(UUID owner, long chunk, boolean add) {
+    ForgeChunkManager.forceChunk(this.level, RailcraftConstants.ID, owner,
+        ChunkPos.getX(chunk), ChunkPos.getZ(chunk), add, false);
+  }
+}
@@ -0,0 +1,29 @@
+package mods.railcraft.world.entity.vehicle;
+
+import java.util.List;
+import mods.railcraft.util.CompositeFluidHandler;
+import net.minecraftforge.fluids.capability.IFluidHandler;
+
+/**
+ * The combined tanks of a train, with the handler of each tank looked up in constant time.
+ */
+final class TrainFluidHandler extends CompositeFluidHandler {
+
+  private final int[] handlerByTank;
+
+  TrainFluidHandler(List<IFluidHandler> handlers) {
+    super(handlers);
+    this.handlerByTank = new int[this.slotCount];
+    var tank = 0;
+    for (int i = 0; i < this.baseIndex.length; i++) {
+      for (; tank < this.baseIndex[i]; tank++) {
+        this.handlerByTank[tank] = i;
+      }
+    }
+  }
+
+  @Override
+  protected int getIndexForTank(int tank) {
+    return tank < 0 || tank >= this.slotCount ? -1 : this.handlerByTank[tank];
+  }
+}
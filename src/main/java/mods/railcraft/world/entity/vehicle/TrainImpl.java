@@ -1,25 +1,31 @@
 package mods.railcraft.world.entity.vehicle;
 
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Stream;
+import com.google.common.collect.MapMaker;
 import mods.railcraft.api.carts.RollingStock;
+import mods.railcraft.api.carts.Side;
 import mods.railcraft.api.carts.Train;
-import mods.railcraft.util.CompositeFluidHandler;
-import mods.railcraft.util.FunctionalUtil;
 import mods.railcraft.world.entity.vehicle.locomotive.Locomotive;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.NbtUtils;
 import net.minecraft.nbt.Tag;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.vehicle.AbstractMinecart;
 import net.minecraftforge.common.capabilities.ForgeCapabilities;
+import net.minecraftforge.common.util.LazyOptional;
 import net.minecraftforge.fluids.capability.IFluidHandler;
 import net.minecraftforge.items.IItemHandler;
 import net.minecraftforge.items.IItemHandlerModifiable;
-import net.minecraftforge.items.wrapper.CombinedInvWrapper;
 
 /**
  * @author Sm0keySa1m0n
@@ -29,8 +35,22 @@ final class TrainImpl implements Train {
   private final UUID id;
   private final RollingStockImpl front;
   private final Set<UUID> locks = new HashSet<>();
+  private final LinkageSolver linkageSolver = new LinkageSolver();
   private State state = State.NORMAL;
 
+  // Rebuilt lazily whenever a link in the train changes
+  private List<RollingStock> members = List.of();
+  private List<Locomotive> locomotives = List.of();
+  private boolean membersDirty = true;
+  private float appliedMaxSpeed = Float.NaN;
+  // Built lazily, rebuilt whenever the members or their capabilities change
+  private Optional<IItemHandler> itemHandler = Optional.empty();
+  private boolean itemHandlerDirty = true;
+  private Optional<IFluidHandler> fluidHandler = Optional.empty();
+  private boolean fluidHandlerDirty = true;
+  private final Set<LazyOptional<?>> watchedCapabilities =
+      Collections.newSetFromMap(new MapMaker().weakKeys().makeMap());
+
   static TrainImpl create(RollingStockImpl owner) {
     return new TrainImpl(UUID.randomUUID(), owner);
   }
@@ -62,6 +82,49 @@ final class TrainImpl implements Train {
     return this.front;
   }
 
+  /**
+   * Marks the member list as stale, it will be rebuilt the next time it is needed.
+   */
+  void invalidate() {
+    this.membersDirty = true;
+  }
+
+  private List<RollingStock> members() {
+    if (this.membersDirty) {
+      // Cleared first so that links resolved during the walk can mark us dirty again
+      this.membersDirty = false;
+      var members = new ArrayList<RollingStock>();
+      var locomotives = new ArrayList<Locomotive>();
+      this.front.traverseTrainWithSelf(Side.BACK).forEach(member -> {
+        members.add(member);
+        if (member.entity() instanceof Locomotive locomotive) {
+          locomotives.add(locomotive);
+        }
+      });
+      this.members = List.copyOf(members);
+      this.locomotives = List.copyOf(locomotives);
+      this.invalidateHandlers();
+      // Make sure carts that just joined pick up the train's speed cap
+      this.appliedMaxSpeed = Float.NaN;
+    }
+    return this.members;
+  }
+
+  @Override
+  public Stream<RollingStock> stream() {
+    return this.members().stream();
+  }
+
+  @Override
+  public Iterator<RollingStock> iterator() {
+    return this.members().iterator();
+  }
+
+  @Override
+  public int size() {
+    return this.members().size();
+  }
+
   @Override
   public void copyTo(Train train) {
     this.locks.forEach(train::addLock);
@@ -70,47 +133,126 @@ final class TrainImpl implements Train {
 
   @Override
   public int getNumRunningLocomotives() {
-    return (int) this.entities()
-        .flatMap(FunctionalUtil.ofType(Locomotive.class))
-        .filter(Locomotive::isRunning)
-        .count();
+    this.members();
+    var running = 0;
+    for (var locomotive : this.locomotives) {
+      if (locomotive.isRunning()) {
+        running++;
+      }
+    }
+    return running;
   }
 
   @Override
   public Optional<IItemHandler> itemHandler() {
-    var cartHandlers = this.entities()
-        .flatMap(cart -> cart.getCapability(ForgeCapabilities.ITEM_HANDLER)
-            .map(Stream::of)
-            .orElse(Stream.empty()))
-        .flatMap(FunctionalUtil.ofType(IItemHandlerModifiable.class))
-        .toArray(IItemHandlerModifiable[]::new);
-    return cartHandlers.length == 0
-        ? Optional.empty()
-        : Optional.of(new CombinedInvWrapper(cartHandlers));
+    this.members();
+    if (this.itemHandlerDirty) {
+      this.itemHandlerDirty = false;
+      var handlers = new ArrayList<IItemHandlerModifiable>();
+      for (var member : this.members) {
+        this.watchCapability(member.entity().getCapability(ForgeCapabilities.ITEM_HANDLER))
+            .filter(IItemHandlerModifiable.class::isInstance)
+            .map(IItemHandlerModifiable.class::cast)
+            .ifPresent(handlers::add);
+      }
+      this.itemHandler = handlers.isEmpty()
+          ? Optional.empty()
+          : Optional.of(new TrainItemHandler(handlers));
+    }
+    return this.itemHandler;
   }
 
   @Override
   public Optional<IFluidHandler> fluidHandler() {
-    var cartHandlers = this.entities()
-        .flatMap(cart -> cart.getCapability(ForgeCapabilities.FLUID_HANDLER)
-            .map(Stream::of)
-            .orElse(Stream.empty()))
-        .toList();
-    return cartHandlers.isEmpty()
-        ? Optional.empty()
-        : Optional.of(new CompositeFluidHandler(cartHandlers));
+    this.members();
+    if (this.fluidHandlerDirty) {
+      this.fluidHandlerDirty = false;
+      var handlers = new ArrayList<IFluidHandler>();
+      for (var member : this.members) {
+        this.watchCapability(member.entity().getCapability(ForgeCapabilities.FLUID_HANDLER))
+            .ifPresent(handlers::add);
+      }
+      this.fluidHandler = handlers.isEmpty()
+          ? Optional.empty()
+          : Optional.of(new TrainFluidHandler(handlers));
+    }
+    return this.fluidHandler;
+  }
+
+  /**
+   * Drops the cached handlers once the specified capability goes away. Each capability is only
+   * listened to once, as listeners can't be removed and would otherwise pile up on every rebuild.
+   */
+  private <T> Optional<T> watchCapability(LazyOptional<T> capability) {
+    if (!capability.isPresent()) {
+      return Optional.empty();
+    }
+    if (this.watchedCapabilities.add(capability)) {
+      // The capability may outlive this train, don't keep it alive
+      var train = new WeakReference<>(this);
+      capability.addListener(__ -> {
+        var watcher = train.get();
+        if (watcher != null) {
+          watcher.invalidateHandlers();
+        }
+      });
+    }
+    return capability.resolve();
+  }
+
+  private void invalidateHandlers() {
+    this.itemHandlerDirty = true;
+    this.fluidHandlerDirty = true;
   }
 
   public void refreshMaxSpeed() {
-    setMaxSpeed(calculateMaxSpeed());
+    var members = this.members();
+    var maxSpeed = this.calculateMaxSpeed();
+    if (maxSpeed != this.appliedMaxSpeed) {
+      this.appliedMaxSpeed = maxSpeed;
+      for (var member : members) {
+        member.entity().setCurrentCartSpeedCapOnRail(maxSpeed);
+      }
+    }
   }
 
+  /**
+   * Applies the forces keeping the train's carts at their optimal distances. Called once per tick
+   * by the front cart.
+   */
+  void solveLinks() {
+    this.linkageSolver.solve(this.members());
+  }
+
+  /**
+   * Keeps the chunks under a linked train loaded. Called once per tick by the front cart.
+   */
+  void loadChunks(ServerLevel level) {
+    var members = this.members();
+    if (members.size() > 1) {
+      TrainChunkLoader.get(level).claim(this.id, members);
+    }
+  }
+
+  /**
+   * The train's max speed is the lowest of every cart's min(rail speed, soft speed + boost),
+   * which is the same as min(lowest rail speed, lowest soft speed + boost). Some carts change
+   * their limits as they work, so the minimums are read every tick, but in a single pass over the
+   * cached members.
+   */
   private float calculateMaxSpeed() {
+    if (this.members.isEmpty()) {
+      return 1.2F;
+    }
+    var minRailSpeed = Float.MAX_VALUE;
+    var minSoftSpeed = Float.MAX_VALUE;
+    for (var member : this.members) {
+      var cart = member.entity();
+      minRailSpeed = Math.min(minRailSpeed, cart.getMaxCartSpeedOnRail());
+      minSoftSpeed = Math.min(minSoftSpeed, this.softMaxSpeed(cart));
+    }
     double locoBoost = Math.max(0.0, this.getNumRunningLocomotives() - 1.0) * 0.075;
-    return (float) this.entities()
-        .mapToDouble(c -> Math.min(c.getMaxCartSpeedOnRail(), this.softMaxSpeed(c) + locoBoost))
-        .min()
-        .orElse(1.2F);
+    return (float) Math.min(minRailSpeed, minSoftSpeed + locoBoost);
   }
 
   private float softMaxSpeed(AbstractMinecart cart) {
@@ -119,10 +261,6 @@ final class TrainImpl implements Train {
         : cart.getMaxCartSpeedOnRail();
   }
 
-  private void setMaxSpeed(float trainSpeed) {
-    this.entities().forEach(c -> c.setCurrentCartSpeedCapOnRail(trainSpeed));
-  }
-
   @Override
   public boolean isLocked() {
     return !this.locks.isEmpty();
@@ -0,0 +1,29 @@
+package mods.railcraft.world.entity.vehicle;
+
+import java.util.List;
+import net.minecraftforge.items.IItemHandlerModifiable;
+import net.minecraftforge.items.wrapper.CombinedInvWrapper;
+
+/**
+ * The combined inventories of a train, with the handler of each slot looked up in constant time.
+ */
+final class TrainItemHandler extends CombinedInvWrapper {
+
+  private final int[] handlerBySlot;
+
+  TrainItemHandler(List<IItemHandlerModifiable> handlers) {
+    super(handlers.toArray(IItemHandlerModifiable[]::new));
+    this.handlerBySlot = new int[this.slotCount];
+    var slot = 0;
+    for (int i = 0; i < this.baseIndex.length; i++) {
+      for (; slot < this.baseIndex[i]; slot++) {
+        this.handlerBySlot[slot] = i;
+      }
+    }
+  }
+
+  @Override
+  protected int getIndexForSlot(int slot) {
+    return slot < 0 || slot >= this.slotCount ? -1 : this.handlerBySlot[slot];
+  }
+}
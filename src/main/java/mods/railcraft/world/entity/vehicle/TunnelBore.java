@@ -2,9 +2,10 @@ package mods.railcraft.world.entity.vehicle;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.function.BiFunction;
+import java.util.concurrent.ConcurrentHashMap;
 import org.jetbrains.annotations.Nullable;
 import mods.railcraft.RailcraftConfig;
 import mods.railcraft.api.carts.Linkable;
@@ -56,7 +57,6 @@ import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.block.state.properties.RailShape;
 import net.minecraft.world.level.gameevent.GameEvent;
-import net.minecraft.world.level.material.Fluid;
 import net.minecraft.world.level.material.Fluids;
 import net.minecraft.world.level.storage.loot.LootParams;
 import net.minecraft.world.level.storage.loot.parameters.LootContextParams;
@@ -82,7 +82,12 @@ public class TunnelBore extends RailcraftMinecart implements Linkable {
   public static final int FUEL_CONSUMPTION = 12;
   public static final float HARDNESS_MULTIPLIER = 8;
 
-  public static final Set<BlockState> MINEABLE_STATES = new HashSet<>();
+  /**
+   * Extra mineable states, only added to through {@link #addMineableBlock} so the cache of
+   * mineable states is cleared.
+   */
+  private static final Set<BlockState> MINEABLE_STATES = new HashSet<>();
+
   public static final Set<Block> MINEABLE_BLOCKS = Set.of(
       Blocks.CLAY,
       Blocks.SNOW,
@@ -133,6 +138,12 @@ public class TunnelBore extends RailcraftMinecart implements Linkable {
 
   public static final Set<TagKey<Block>> REPLACEABLE_TAGS = Set.of(BlockTags.FLOWERS);
 
+  /**
+   * Whether each state seen so far is mineable. Only changes when tags are reloaded or a block is
+   * added, so the tag lookups are done once per state rather than once per block mined.
+   */
+  private static final Map<BlockState, Boolean> mineableStates = new ConcurrentHashMap<>();
+
   private static final EntityDataAccessor<Boolean> HAS_FUEL =
       SynchedEntityData.defineId(TunnelBore.class, EntityDataSerializers.BOOLEAN);
   private static final EntityDataAccessor<Boolean> MOVING =
@@ -209,6 +220,11 @@ public class TunnelBore extends RailcraftMinecart implements Linkable {
 
   public static void addMineableBlock(BlockState blockState) {
     MINEABLE_STATES.add(blockState);
+    invalidateMineableStates();
+  }
+
+  public static void invalidateMineableStates() {
+    mineableStates.clear();
   }
 
   public boolean canHeadHarvestBlock(ItemStack head, BlockState targetState) {
@@ -218,9 +234,19 @@ public class TunnelBore extends RailcraftMinecart implements Linkable {
 
   private boolean isMineableBlock(BlockState blockState) {
     return RailcraftConfig.SERVER.boreMinesAllBlocks.get()
-        || MINEABLE_BLOCKS.contains(blockState.getBlock())
-        || MINEABLE_STATES.contains(blockState)
-        || MINEABLE_TAGS.stream().anyMatch(blockState::is);
+        || mineableStates.computeIfAbsent(blockState, TunnelBore::computeMineable);
+  }
+
+  private static boolean computeMineable(BlockState blockState) {
+    if (MINEABLE_BLOCKS.contains(blockState.getBlock()) || MINEABLE_STATES.contains(blockState)) {
+      return true;
+    }
+    for (var tag : MINEABLE_TAGS) {
+      if (blockState.is(tag)) {
+        return true;
+      }
+    }
+    return false;
   }
 
   @Override
@@ -419,13 +445,17 @@ public class TunnelBore extends RailcraftMinecart implements Linkable {
               setActive(false);
             }
             boreLayer = false;
-          } else if (checkForLava(targetPos, dir)) {
-            setDelay(FAIL_DELAY);
-            setActive(false);
           } else {
-            setDelay((int) Math.ceil(getLayerHardness(targetPos, dir)));
-            if (getDelay() != 0) {
-              boreLayer = true;
+            var faceHardness = scanLayer(targetPos, dir);
+            if (faceHardness < 0) {
+              // Lava around the layer
+              setDelay(FAIL_DELAY);
+              setActive(false);
+            } else {
+              setDelay((int) Math.ceil(getLayerHardness(faceHardness)));
+              if (getDelay() != 0) {
+                boreLayer = true;
+              }
             }
           }
         }
@@ -691,66 +721,47 @@ public class TunnelBore extends RailcraftMinecart implements Linkable {
     return false;
   }
 
-  protected boolean checkForLava(BlockPos targetPos, RailShape dir) {
-    int xStart = targetPos.getX() - 1;
-    int zStart = targetPos.getZ() - 1;
-    int xEnd = targetPos.getX() + 1;
-    int zEnd = targetPos.getZ() + 1;
-    if (dir == RailShape.NORTH_SOUTH) {
-      xStart--;
-      xEnd++;
-    } else {
-      zStart--;
-      zEnd++;
-    }
-
-    int y = targetPos.getY();
-
-    for (BlockPos blockPos : BlockPos.betweenClosed(xStart, y, zStart, xEnd, y + 3, zEnd)) {
-      Fluid fluid = this.level().getFluidState(blockPos).getType();
-      if (fluid == Fluids.LAVA || fluid == Fluids.FLOWING_LAVA) {
-        return true;
+  /**
+   * Looks over the layer ahead in a single pass, checking the blocks around it for lava while
+   * summing the hardness of the 3x3 face that will be mined.
+   *
+   * @return the summed hardness of the face, or -1 if there is lava around the layer
+   */
+  private float scanLayer(BlockPos targetPos, RailShape dir) {
+    var northSouth = dir == RailShape.NORTH_SOUTH;
+    var pos = new BlockPos.MutableBlockPos();
+    var hardness = 0.0F;
+    for (int across = -2; across <= 2; across++) {
+      for (int along = -1; along <= 1; along++) {
+        var face = along == 0 && across >= -1 && across <= 1;
+        for (int dy = 0; dy <= 3; dy++) {
+          pos.setWithOffset(targetPos,
+              northSouth ? across : along, dy, northSouth ? along : across);
+          var blockState = this.level().getBlockState(pos);
+          var fluid = blockState.getFluidState().getType();
+          if (fluid == Fluids.LAVA || fluid == Fluids.FLOWING_LAVA) {
+            return -1;
+          }
+          if (face && dy < 3) {
+            hardness += this.getBlockHardness(pos, blockState, dir);
+          }
+        }
       }
     }
-
-    return false;
-  }
-
-  private <T> T layerAction(BlockPos targetPos, RailShape trackShape, T initialValue,
-      BiFunction<BlockPos, RailShape, T> action, BiFunction<T, T, T> sum) {
-    T returnValue = initialValue;
-
-    int x = targetPos.getX();
-    int y = targetPos.getY();
-    int z = targetPos.getZ();
-    for (int jj = y; jj < y + 3; jj++) {
-      returnValue = sum.apply(returnValue, action.apply(new BlockPos(x, jj, z), trackShape));
-    }
-
-    if (trackShape == RailShape.NORTH_SOUTH) {
-      x--;
-    } else {
-      z--;
-    }
-    for (int jj = y; jj < y + 3; jj++) {
-      returnValue = sum.apply(returnValue, action.apply(new BlockPos(x, jj, z), trackShape));
-    }
-
-    x = targetPos.getX();
-    z = targetPos.getZ();
-    if (trackShape == RailShape.NORTH_SOUTH) {
-      x++;
-    } else {
-      z++;
-    }
-    for (int jj = y; jj < y + 3; jj++) {
-      returnValue = sum.apply(returnValue, action.apply(new BlockPos(x, jj, z), trackShape));
-    }
-    return returnValue;
+    return hardness;
   }
 
   protected boolean boreLayer(BlockPos targetPos, RailShape dir) {
-    return layerAction(targetPos, dir, true, this::mineBlock, (s, r) -> s && r);
+    var northSouth = dir == RailShape.NORTH_SOUTH;
+    var cleared = true;
+    for (int across = -1; across <= 1; across++) {
+      for (int dy = 0; dy < 3; dy++) {
+        // Every block is attempted, even after one fails
+        cleared &= this.mineBlock(
+            targetPos.offset(northSouth ? across : 0, dy, northSouth ? 0 : across), dir);
+      }
+    }
+    return cleared;
   }
 
   /**
@@ -837,9 +848,8 @@ public class TunnelBore extends RailcraftMinecart implements Linkable {
     return isMineableBlock(existingState) && canHeadHarvestBlock(head, existingState);
   }
 
-  protected double getLayerHardness(BlockPos targetPos, RailShape dir) {
-    double hardness = layerAction(targetPos, dir, 0F, this::getBlockHardness, (s, r) -> s + r);
-    hardness *= HARDNESS_MULTIPLIER;
+  protected double getLayerHardness(double faceHardness) {
+    double hardness = faceHardness * HARDNESS_MULTIPLIER;
 
     var boreSlot = this.getItem(0);
     if (!boreSlot.isEmpty() && boreSlot.getItem() instanceof TunnelBoreHead head) {
@@ -854,9 +864,7 @@ public class TunnelBore extends RailcraftMinecart implements Linkable {
     return hardness;
   }
 
-  protected float getBlockHardness(BlockPos pos, RailShape dir) {
-    var blockState = this.level().getBlockState(pos);
-
+  private float getBlockHardness(BlockPos pos, BlockState blockState, RailShape dir) {
     if (blockState.isAir()) {
       return 0;
     }
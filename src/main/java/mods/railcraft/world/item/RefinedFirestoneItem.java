@@ -6,6 +6,7 @@ import org.jetbrains.annotations.Nullable;
 import mods.railcraft.Translations.Tips;
 import mods.railcraft.util.container.ContainerTools;
 import mods.railcraft.world.entity.FirestoneItemEntity;
+import mods.railcraft.world.item.crafting.RecipeCache;
 import net.minecraft.ChatFormatting;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
@@ -17,7 +18,6 @@ import net.minecraft.sounds.SoundEvents;
 import net.minecraft.util.RandomSource;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.InteractionResult;
-import net.minecraft.world.SimpleContainer;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.player.Player;
@@ -139,8 +139,7 @@ public class RefinedFirestoneItem extends FirestoneItem {
 
   @NotNull
   private ItemStack cookedItem(Level level, ItemStack ingredient) {
-    return level.getRecipeManager()
-        .getRecipeFor(RecipeType.SMELTING, new SimpleContainer(ingredient), level)
+    return RecipeCache.getRecipeFor(RecipeType.SMELTING, ingredient, level)
         .map(x -> x.getResultItem(level.registryAccess()))
         .orElse(ItemStack.EMPTY);
   }
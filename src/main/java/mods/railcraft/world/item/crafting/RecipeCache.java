@@ -0,0 +1,120 @@
+package mods.railcraft.world.item.crafting;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import org.jetbrains.annotations.Nullable;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.MapMaker;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.Container;
+import net.minecraft.world.SimpleContainer;
+import net.minecraft.world.inventory.CraftingContainer;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.item.crafting.RecipeType;
+import net.minecraft.world.level.Level;
+
+/**
+ * Caches recipe lookups per {@link RecipeManager} and {@link RecipeType}, including lookups that
+ * found no recipe, so repeated lookups for the same input skip the recipe scan.
+ *
+ * <p>A datapack reload on the server creates a new {@link RecipeManager}, which starts with an
+ * empty cache. The client reuses its manager, so {@link #invalidate(RecipeManager)} must be called
+ * when the client receives new recipes.
+ */
+public final class RecipeCache {
+
+  private static final int MAX_ENTRIES_PER_TYPE = 1024;
+
+  private static final Map<RecipeManager, Map<RecipeType<?>, Cache<Object, Optional<?>>>> caches =
+      new MapMaker().weakKeys().makeMap();
+
+  private RecipeCache() {}
+
+  /**
+   * Gets the recipe matching a single item, as used by furnace-like recipes.
+   *
+   * @param type - the recipe type
+   * @param itemStack - the input item
+   * @param level - the level
+   * @return the recipe, if any
+   */
+  public static <R extends Recipe<Container>> Optional<R> getRecipeFor(
+      RecipeType<R> type, ItemStack itemStack, Level level) {
+    if (itemStack.isEmpty()) {
+      return Optional.empty();
+    }
+    return lookup(type, level, ItemKey.of(itemStack),
+        () -> level.getRecipeManager()
+            .getRecipeFor(type, new SimpleContainer(itemStack), level));
+  }
+
+  /**
+   * Gets the recipe matching the layout of a crafting grid, as used by shaped recipes.
+   *
+   * @param type - the recipe type
+   * @param container - the crafting grid
+   * @param level - the level
+   * @return the recipe, if any
+   */
+  public static <R extends Recipe<CraftingContainer>> Optional<R> getRecipeFor(
+      RecipeType<R> type, CraftingContainer container, Level level) {
+    List<ItemKey> items = new ArrayList<>(container.getContainerSize());
+    for (var i = 0; i < container.getContainerSize(); i++) {
+      var itemStack = container.getItem(i);
+      items.add(itemStack.isEmpty() ? null : ItemKey.of(itemStack));
+    }
+    return lookup(type, level,
+        new LayoutKey(container.getWidth(), container.getHeight(), items),
+        () -> level.getRecipeManager().getRecipeFor(type, container, level));
+  }
+
+  /**
+   * Drops every cached lookup made against the specified {@link RecipeManager}.
+   *
+   * @param recipeManager - the recipe manager whose recipes have changed
+   */
+  public static void invalidate(RecipeManager recipeManager) {
+    caches.remove(recipeManager);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <R extends Recipe<?>> Optional<R> lookup(RecipeType<R> type, Level level,
+      Object key, RecipeLookup<R> lookup) {
+    var cache = caches
+        .computeIfAbsent(level.getRecipeManager(), __ -> new MapMaker().makeMap())
+        .computeIfAbsent(type, __ -> CacheBuilder.newBuilder()
+            .maximumSize(MAX_ENTRIES_PER_TYPE)
+            .build());
+    try {
+      return (Optional<R>) cache.get(key, lookup::find);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  @FunctionalInterface
+  private interface RecipeLookup<R> {
+
+    Optional<R> find();
+  }
+
+  /**
+   * Identifies an input by item and tag, counts don't take part in matching.
+   */
+  private record ItemKey(Item item, @Nullable CompoundTag tag) {
+
+    private static ItemKey of(ItemStack itemStack) {
+      var tag = itemStack.getTag();
+      return new ItemKey(itemStack.getItem(), tag == null ? null : tag.copy());
+    }
+  }
+
+  private record LayoutKey(int width, int height, List<ItemKey> items) {}
+}
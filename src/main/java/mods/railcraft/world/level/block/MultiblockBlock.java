@@ -1,11 +1,8 @@
 package mods.railcraft.world.level.block;
 
-import org.jetbrains.annotations.Nullable;
 import mods.railcraft.util.LevelUtil;
 import mods.railcraft.world.level.block.entity.multiblock.MultiblockBlockEntity;
-import mods.railcraft.world.level.block.entity.multiblock.MultiblockListener;
 import net.minecraft.core.BlockPos;
-import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.InteractionResult;
@@ -13,9 +10,7 @@ import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.BaseEntityBlock;
 import net.minecraft.world.level.block.RenderShape;
-import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
-import net.minecraft.world.level.gameevent.GameEventListener;
 import net.minecraft.world.phys.BlockHitResult;
 
 public abstract class MultiblockBlock extends BaseEntityBlock {
@@ -29,14 +24,6 @@ public abstract class MultiblockBlock extends BaseEntityBlock {
     return RenderShape.MODEL;
   }
 
-  @Nullable
-  @Override
-  public <T extends BlockEntity> GameEventListener getListener(ServerLevel level, T blockEntity) {
-    return blockEntity instanceof MultiblockBlockEntity<?, ?> multiblock
-        ? new MultiblockListener(multiblock)
-        : null;
-  }
-
   @Override
   public InteractionResult use(BlockState blockState, Level level,
       BlockPos pos, Player player, InteractionHand hand, BlockHitResult rayTraceResult) {
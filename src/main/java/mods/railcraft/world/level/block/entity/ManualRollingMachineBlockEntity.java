@@ -8,6 +8,7 @@ import mods.railcraft.util.container.ContainerMapper;
 import mods.railcraft.util.container.ContainerTools;
 import mods.railcraft.world.inventory.ManualRollingMachineMenu;
 import mods.railcraft.world.item.crafting.RailcraftRecipeTypes;
+import mods.railcraft.world.item.crafting.RecipeCache;
 import mods.railcraft.world.item.crafting.RollingRecipe;
 import net.minecraft.core.BlockPos;
 import net.minecraft.nbt.CompoundTag;
@@ -100,8 +101,8 @@ public class ManualRollingMachineBlockEntity extends RailcraftBlockEntity implem
   }
 
   public Optional<RollingRecipe> getRecipe() {
-    return this.level.getRecipeManager()
-        .getRecipeFor(RailcraftRecipeTypes.ROLLING.get(), this.craftMatrix, this.level);
+    return RecipeCache.getRecipeFor(RailcraftRecipeTypes.ROLLING.get(), this.craftMatrix,
+        this.level);
   }
 
   public static void serverTick(Level level, BlockPos blockPos, BlockState blockState,
@@ -1,14 +1,24 @@
 package mods.railcraft.world.level.block.entity;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import com.google.common.collect.MapMaker;
 import com.mojang.authlib.GameProfile;
+import com.mojang.logging.LogUtils;
 import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
 import mods.railcraft.api.core.BlockEntityLike;
 import mods.railcraft.api.core.NetworkSerializable;
 import mods.railcraft.api.core.Ownable;
 import mods.railcraft.network.NetworkChannel;
+import mods.railcraft.network.play.RequestBlockEntitySyncMessage;
+import mods.railcraft.network.play.SyncBlockEntityMessage;
 import mods.railcraft.world.module.BlockModuleProvider;
 import mods.railcraft.world.module.Module;
 import mods.railcraft.world.module.ModuleDispatcher;
@@ -30,8 +40,26 @@ import net.minecraft.world.level.block.state.BlockState;
 public abstract class RailcraftBlockEntity extends BlockEntity
     implements NetworkSerializable, Ownable, BlockEntityLike, BlockModuleProvider {
 
+  private static final Logger logger = LogUtils.getLogger();
+
+  /**
+   * Block entities with a sync pending, flushed once per tick by {@link #flushSyncs(ServerLevel)}.
+   */
+  private static final Map<ServerLevel, Set<RailcraftBlockEntity>> pendingSyncs =
+      new MapMaker().weakKeys().makeMap();
+
   protected final ModuleDispatcher moduleDispatcher = new ModuleDispatcher();
 
+  /**
+   * The sync data last sent to clients on the server, the sync data last received on the client.
+   */
+  private byte @Nullable [] syncData;
+  private boolean syncPending;
+  /**
+   * Set on the client once it has asked for the full sync data, until that arrives.
+   */
+  private boolean fullSyncRequested;
+
   @Nullable
   private GameProfile owner;
 
@@ -51,17 +79,66 @@ public abstract class RailcraftBlockEntity extends BlockEntity
   @Override
   public final CompoundTag getUpdateTag() {
     CompoundTag nbt = super.getUpdateTag();
+    nbt.putByteArray("sync",
+        this.level instanceof ServerLevel ? this.getSyncBaseline() : this.writeSyncData());
+    return nbt;
+  }
+
+  /**
+   * Gets the sync data every client tracking this block entity is patched against. If the state
+   * has moved on since the last sync, a sync is scheduled so clients receiving the baseline now
+   * catch up along with everyone else.
+   */
+  private byte[] getSyncBaseline() {
+    var data = this.writeSyncData();
+    if (this.syncData == null) {
+      this.syncData = data;
+    } else if (!Arrays.equals(this.syncData, data)) {
+      this.syncToClient();
+    }
+    return this.syncData;
+  }
+
+  private byte[] writeSyncData() {
     FriendlyByteBuf packetBuffer = new FriendlyByteBuf(Unpooled.buffer());
     this.writeToBuf(packetBuffer);
     byte[] syncData = new byte[packetBuffer.readableBytes()];
     packetBuffer.readBytes(syncData);
-    nbt.putByteArray("sync", syncData);
-    return nbt;
+    return syncData;
   }
 
   @Override
   public final void handleUpdateTag(CompoundTag tag) {
     byte[] bytes = tag.getByteArray("sync");
+    this.syncData = bytes;
+    this.fullSyncRequested = false;
+    this.readFromBuf(new FriendlyByteBuf(Unpooled.wrappedBuffer(bytes)));
+  }
+
+  /**
+   * Applies a patch sent by the server to the sync data last received.
+   *
+   * @param message - the patch
+   */
+  public final void applySyncPatch(SyncBlockEntityMessage message) {
+    var base = this.syncData;
+    if (base == null || Arrays.hashCode(base) != message.baseHash()) {
+      // Later patches build on the one missed, so nothing applies until we have the full data
+      if (!this.fullSyncRequested) {
+        logger.debug("Requesting full sync for out of date block entity @ [{}]",
+            this.getBlockPos());
+        this.fullSyncRequested = true;
+        NetworkChannel.GAME.sendToServer(new RequestBlockEntitySyncMessage(this.getBlockPos()));
+      }
+      return;
+    }
+    var patch = message.patch();
+    var suffix = message.length() - message.offset() - patch.length;
+    var bytes = new byte[message.length()];
+    System.arraycopy(base, 0, bytes, 0, message.offset());
+    System.arraycopy(patch, 0, bytes, message.offset(), patch.length);
+    System.arraycopy(base, base.length - suffix, bytes, bytes.length - suffix, suffix);
+    this.syncData = bytes;
     this.readFromBuf(new FriendlyByteBuf(Unpooled.wrappedBuffer(bytes)));
   }
 
@@ -94,12 +171,63 @@ public abstract class RailcraftBlockEntity extends BlockEntity
     return this.getLevel();
   }
 
+  /**
+   * Schedules a sync to clients at the end of the tick, any number of calls within a tick result in
+   * a single sync which only carries the data that changed.
+   */
   @Override
   public void syncToClient() {
-    if (this.level instanceof ServerLevel serverLevel) {
-      var packet = this.getUpdatePacket();
-      NetworkChannel.sendToTrackingChunk(packet, serverLevel, this.getBlockPos());
+    if (this.level instanceof ServerLevel serverLevel && !this.syncPending) {
+      this.syncPending = true;
+      pendingSyncs.computeIfAbsent(serverLevel, __ -> new ReferenceLinkedOpenHashSet<>())
+          .add(this);
+    }
+  }
+
+  /**
+   * Sends the syncs scheduled in the specified level.
+   *
+   * @param level - the level
+   */
+  public static void flushSyncs(ServerLevel level) {
+    var pending = pendingSyncs.get(level);
+    if (pending == null || pending.isEmpty()) {
+      return;
+    }
+    var blockEntities = List.copyOf(pending);
+    pending.clear();
+    for (var blockEntity : blockEntities) {
+      blockEntity.syncPending = false;
+      if (!blockEntity.isRemoved()) {
+        blockEntity.sendSync(level);
+      }
+    }
+  }
+
+  private void sendSync(ServerLevel level) {
+    var base = this.syncData;
+    if (base == null) {
+      // No client has a baseline to patch yet
+      NetworkChannel.sendToTrackingChunk(this.getUpdatePacket(), level, this.getBlockPos());
+      return;
+    }
+    var data = this.writeSyncData();
+    var maxCommon = Math.min(base.length, data.length);
+    var offset = Arrays.mismatch(base, data);
+    if (offset == -1) {
+      return;
+    }
+    var suffix = 0;
+    while (suffix < maxCommon - offset
+        && base[base.length - 1 - suffix] == data[data.length - 1 - suffix]) {
+      suffix++;
     }
+    var patch = Arrays.copyOfRange(data, offset, data.length - suffix);
+    NetworkChannel.GAME.sendToChunk(
+        new SyncBlockEntityMessage(this.getBlockPos(), Arrays.hashCode(base), data.length, offset,
+            patch),
+        level, this.getBlockPos());
+    this.syncData = data;
   }
 
   @Override
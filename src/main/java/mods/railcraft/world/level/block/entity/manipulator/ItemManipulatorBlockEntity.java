@@ -3,9 +3,10 @@ package mods.railcraft.world.level.block.entity.manipulator;
 import java.util.EnumMap;
 import java.util.Map;
 import java.util.function.Predicate;
-import java.util.stream.Stream;
+import org.jetbrains.annotations.Nullable;
 import com.google.common.collect.HashMultiset;
 import com.google.common.collect.Multiset;
+import mods.railcraft.RailcraftConfig;
 import mods.railcraft.api.container.manipulator.ContainerManipulator;
 import mods.railcraft.api.container.manipulator.SlotAccessor;
 import mods.railcraft.util.ItemStackKey;
@@ -38,6 +39,10 @@ public abstract class ItemManipulatorBlockEntity extends ManipulatorBlockEntity
       new EnumMap<>(TransferMode.class);
   protected static final int[] SLOTS = ContainerTools.buildSlotArray(0, 9);
   protected ContainerManipulator<?> cart;
+  @Nullable
+  private AbstractMinecart cachedCart;
+  @Nullable
+  private ContainerManipulator<?> cachedCartContainer;
 
   static {
     modeHasWork.put(TransferMode.ALL, tile -> {
@@ -135,67 +140,88 @@ public abstract class ItemManipulatorBlockEntity extends ManipulatorBlockEntity
   protected void reset() {
     super.reset();
     this.transferredItems.clear();
+    this.cachedCart = null;
+    this.cachedCartContainer = null;
   }
 
   @Override
   protected void processCart(AbstractMinecart cart) {
-    this.chests = ContainerManipulator.of(this.bufferContainer, this.findAdjacentContainers());
+    // Snapshot the slots once per tick, the adjacent containers would otherwise be looked up again
+    // for every pass over them
+    var chestSlots = ContainerManipulator.of(this.bufferContainer, this.findAdjacentContainers())
+        .stream()
+        .toList();
+    this.chests = chestSlots::stream;
 
-    var cartInv = cart.getCapability(ForgeCapabilities.ITEM_HANDLER,
-        this.getFacing().getOpposite()).map(ContainerManipulator::of).orElse(null);
+    var cartInv = this.getCartContainer(cart);
     if (cartInv == null) {
       sendCart(cart);
       return;
     }
     this.cart = cartInv;
 
+    var budget = RailcraftConfig.SERVER.itemManipulatorTransferRate.get();
     ContainerManifest filterManifest = ContainerManifest.create(getItemFilters());
-    Stream<ContainerManifest.ManifestEntry> manifestStream = filterManifest.values().stream();
     switch (getTransferMode()) {
       case ALL: {
         if (filterManifest.isEmpty()) {
-          ItemStack moved = getSource().moveOneItemTo(getDestination());
-          itemMoved(moved);
+          this.moveItems(budget, __ -> true);
         } else {
-          moveItem(manifestStream);
+          this.moveItems(budget, StackFilter.anyMatch(filterManifest.keyStacks()));
         }
         break;
       }
       case TRANSFER: {
-        moveItem(
-            manifestStream.filter(entry -> transferredItems.count(entry.key()) < entry.count()));
+        for (var entry : filterManifest.values()) {
+          var allowance = entry.count() - this.transferredItems.count(entry.key());
+          budget -= this.moveItems(entry.key(), Math.min(allowance, budget), null);
+        }
         break;
       }
       case STOCK: {
         ContainerManifest destManifest =
             ContainerManifest.create(getDestination(), filterManifest.keySet());
-        moveItem(manifestStream.filter(entry -> destManifest.count(entry.key()) < entry.count()));
+        for (var entry : filterManifest.values()) {
+          var allowance = entry.count() - destManifest.count(entry.key());
+          budget -= this.moveItems(entry.key(), Math.min(allowance, budget), destManifest);
+        }
         break;
       }
       case EXCESS: {
         ContainerManifest sourceManifest =
             ContainerManifest.create(getSource(), filterManifest.keySet());
-
-        this.moveItem(
-            manifestStream.filter(entry -> sourceManifest.count(entry.key()) > entry.count()));
+        for (var entry : filterManifest.values()) {
+          var allowance = sourceManifest.count(entry.key()) - entry.count();
+          budget -= this.moveItems(entry.key(), Math.min(allowance, budget), null);
+        }
         if (!isProcessing()) {
           Predicate<ItemStack> canMove = StackFilter.anyMatch(filterManifest.keyStacks()).negate();
-
-          ItemStack moved = getSource().moveOneItemTo(this.getDestination(), canMove);
-          this.itemMoved(moved);
+          this.moveItems(budget, canMove);
         }
         break;
       }
     }
   }
 
+  /**
+   * Gets the item handler of the cart being processed, reusing the slot views built for it on
+   * previous ticks.
+   */
+  @Nullable
+  private ContainerManipulator<?> getCartContainer(AbstractMinecart cart) {
+    if (cart != this.cachedCart) {
+      this.cachedCart = cart;
+      this.cachedCartContainer = cart
+          .getCapability(ForgeCapabilities.ITEM_HANDLER, this.getFacing().getOpposite())
+          .map(ContainerManipulator::of)
+          .orElse(null);
+    }
+    return this.cachedCartContainer;
+  }
+
   @Override
   protected boolean hasWorkForCart(AbstractMinecart cart) {
-    var cartInv = cart
-        .getCapability(ForgeCapabilities.ITEM_HANDLER,
-            this.getFacing().getOpposite())
-        .map(ContainerManipulator::of)
-        .orElse(null);
+    var cartInv = this.getCartContainer(cart);
     if (cartInv == null) {
       return false;
     }
@@ -214,18 +240,36 @@ public abstract class ItemManipulatorBlockEntity extends ManipulatorBlockEntity
     return modeHasWork.get(this.getTransferMode()).test(this);
   }
 
-  protected void moveItem(Stream<ContainerManifest.ManifestEntry> stream) {
-    var keys = stream.map(ContainerManifest.ManifestEntry::key)
-        .map(ItemStackKey::copyStack)
-        .toList();
-    var moved = this.getSource().moveOneItemTo(this.getDestination(), StackFilter.anyMatch(keys));
-    this.itemMoved(moved);
+  /**
+   * Moves up to amount items matching the filter from the source to the destination.
+   *
+   * @return the number of items moved
+   */
+  protected int moveItems(int amount, Predicate<ItemStack> filter) {
+    if (amount <= 0) {
+      return 0;
+    }
+    return this.getSource().moveItemsTo(this.getDestination(), amount, filter, this::itemMoved);
+  }
+
+  /**
+   * Moves up to amount items of one manifest entry from the source to the destination, keeping the
+   * destination manifest up to date if one is provided.
+   *
+   * @return the number of items moved
+   */
+  private int moveItems(ItemStackKey key, int amount, @Nullable ContainerManifest destManifest) {
+    var moved = this.moveItems(amount, StackFilter.anyMatch(key.itemStack()));
+    if (destManifest != null && moved > 0) {
+      destManifest.adjust(key, moved);
+    }
+    return moved;
   }
 
   protected final void itemMoved(ItemStack moved) {
     if (!moved.isEmpty()) {
       this.setProcessing(true);
-      this.transferredItems.add(ItemStackKey.make(moved));
+      this.transferredItems.add(ItemStackKey.make(moved), moved.getCount());
     }
   }
 
@@ -23,6 +23,7 @@ import net.minecraft.world.InteractionResult;
 import net.minecraft.world.MenuProvider;
 import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
 import net.minecraftforge.network.NetworkHooks;
 
 public abstract class MultiblockBlockEntity<T extends MultiblockBlockEntity<T, M>, M>
@@ -51,6 +52,7 @@ public abstract class MultiblockBlockEntity<T extends MultiblockBlockEntity<T, M
   private MultiblockPattern<M> currentPattern;
 
   private boolean evaluationPending;
+  private boolean unloaded;
 
   // Only present on the client
   @Nullable
@@ -85,6 +87,78 @@ public abstract class MultiblockBlockEntity<T extends MultiblockBlockEntity<T, M
     }
   }
 
+  @Override
+  public void onLoad() {
+    super.onLoad();
+    this.updateFootprint();
+  }
+
+  @Override
+  public void onChunkUnloaded() {
+    super.onChunkUnloaded();
+    this.unloaded = true;
+  }
+
+  @Override
+  public void setRemoved() {
+    super.setRemoved();
+    if (this.level instanceof ServerLevel serverLevel) {
+      MultiblockIndex.get(serverLevel).remove(this);
+      if (!this.unloaded && this.isMaster()) {
+        // Members are watched through the master, let one of them find out it has gone.
+        this.streamMembers()
+            .filter(member -> member != this && !member.isRemoved())
+            .findAny()
+            .ifPresent(MultiblockBlockEntity::enqueueEvaluation);
+      }
+    }
+  }
+
+  /**
+   * Registers the blocks this block needs to hear about with the {@link MultiblockIndex}. A formed
+   * multiblock is watched through its master, an unformed block watches every block it could form
+   * a pattern with.
+   */
+  private void updateFootprint() {
+    if (!(this.level instanceof ServerLevel serverLevel) || this.isRemoved()) {
+      return;
+    }
+    BoundingBox footprint = null;
+    if (this.isFormed()) {
+      if (this.isMaster() && this.currentPattern != null) {
+        footprint = this.currentPattern.getBounds(this.getBlockPos());
+      }
+    } else {
+      for (var pattern : this.patterns) {
+        var bounds = pattern.getBounds(this.getBlockPos());
+        footprint = footprint == null ? bounds : footprint.encapsulate(bounds);
+      }
+    }
+    MultiblockIndex.get(serverLevel).put(this, footprint);
+  }
+
+  /**
+   * Determine if a change at the specified position, within this block's footprint, can change
+   * the outcome of evaluating it. A formed multiblock only cares about blocks that no longer match
+   * its pattern, an unformed block only cares about blocks that now match one of its patterns.
+   *
+   * @param blockPos - the position of the changed block
+   * @param level - the level
+   * @return <code>true</code> if this block should be evaluated, <code>false</code> otherwise
+   */
+  boolean isAffectedBy(BlockPos blockPos, ServerLevel level) {
+    if (this.isFormed()) {
+      return this.currentPattern == null
+          || !this.currentPattern.matches(blockPos, this.getBlockPos(), level);
+    }
+    for (var pattern : this.patterns) {
+      if (pattern.matches(blockPos, this.getBlockPos(), level)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   /**
    * Invoked from {@link MultiblockBlock} on master blocks.
    * 
@@ -180,11 +254,23 @@ public abstract class MultiblockBlockEntity<T extends MultiblockBlockEntity<T, M
    */
   public Optional<Pair<MultiblockPattern<M>, Map<BlockPos, MultiblockPattern.Element>>> resolvePattern() {
     if (this.level instanceof ServerLevel serverLevel) {
-      return this.patterns.stream()
-          .flatMap(pattern -> pattern.resolve(this.getBlockPos(), serverLevel)
-              .map(map -> Pair.of(pattern, map))
-              .stream())
-          .findAny();
+      // A formed structure is most likely still the same one
+      if (this.currentPattern != null) {
+        var resolved = this.currentPattern.resolve(this.getBlockPos(), serverLevel);
+        if (resolved.isPresent()) {
+          return Optional.of(Pair.of(this.currentPattern, resolved.get()));
+        }
+      }
+      for (var pattern : this.patterns) {
+        if (pattern == this.currentPattern) {
+          continue;
+        }
+        var resolved = pattern.resolve(this.getBlockPos(), serverLevel);
+        if (resolved.isPresent()) {
+          return Optional.of(Pair.of(pattern, resolved.get()));
+        }
+      }
+      return Optional.empty();
     } else {
       throw new IllegalStateException("Resolving multiblock pattern on invalid side.");
     }
@@ -197,6 +283,7 @@ public abstract class MultiblockBlockEntity<T extends MultiblockBlockEntity<T, M
    */
   protected void setMembership(@Nullable Membership<T> membership) {
     this.membership = membership;
+    this.updateFootprint();
     this.membershipChanged(membership);
     this.setChanged();
     this.syncToClient();
@@ -0,0 +1,103 @@
+package mods.railcraft.world.level.block.entity.multiblock;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongConsumer;
+import org.jetbrains.annotations.Nullable;
+import com.google.common.collect.MapMaker;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
+
+/**
+ * Per-level spatial index of the blocks each multiblock listens to, bucketed by chunk so a block
+ * change only reaches the multiblocks whose footprint contains it.
+ */
+public final class MultiblockIndex {
+
+  private static final Map<ServerLevel, MultiblockIndex> indices =
+      new MapMaker().weakKeys().makeMap();
+
+  private final ServerLevel level;
+  private final Map<MultiblockBlockEntity<?, ?>, BoundingBox> footprints = new IdentityHashMap<>();
+  private final Long2ObjectMap<List<MultiblockBlockEntity<?, ?>>> byChunk =
+      new Long2ObjectOpenHashMap<>();
+
+  private MultiblockIndex(ServerLevel level) {
+    this.level = level;
+  }
+
+  public static MultiblockIndex get(ServerLevel level) {
+    return indices.computeIfAbsent(level, MultiblockIndex::new);
+  }
+
+  /**
+   * Enqueues an evaluation for every multiblock affected by a change at the specified position.
+   *
+   * @param blockPos - the position of the changed block
+   */
+  public void blockChanged(BlockPos blockPos) {
+    var blockEntities = this.byChunk.get(ChunkPos.asLong(
+        SectionPos.blockToSectionCoord(blockPos.getX()),
+        SectionPos.blockToSectionCoord(blockPos.getZ())));
+    if (blockEntities == null) {
+      return;
+    }
+    for (var blockEntity : blockEntities) {
+      if (this.footprints.get(blockEntity).isInside(blockPos)
+          && blockEntity.isAffectedBy(blockPos, this.level)) {
+        blockEntity.enqueueEvaluation();
+      }
+    }
+  }
+
+  /**
+   * Sets the footprint of a multiblock, replacing any previous one.
+   *
+   * @param blockEntity - the multiblock
+   * @param footprint - the blocks it listens to or <code>null</code> to stop listening
+   */
+  void put(MultiblockBlockEntity<?, ?> blockEntity, @Nullable BoundingBox footprint) {
+    var previous = footprint == null
+        ? this.footprints.remove(blockEntity)
+        : this.footprints.put(blockEntity, footprint);
+    if (footprint != null && footprint.equals(previous)) {
+      return;
+    }
+    if (previous != null) {
+      forEachChunk(previous, chunk -> {
+        var blockEntities = this.byChunk.get(chunk);
+        blockEntities.remove(blockEntity);
+        if (blockEntities.isEmpty()) {
+          this.byChunk.remove(chunk);
+        }
+      });
+    }
+    if (footprint != null) {
+      forEachChunk(footprint,
+          chunk -> this.byChunk.computeIfAbsent(chunk, __ -> new ArrayList<>()).add(blockEntity));
+    }
+  }
+
+  void remove(MultiblockBlockEntity<?, ?> blockEntity) {
+    this.put(blockEntity, null);
+  }
+
+  private static void forEachChunk(BoundingBox box, LongConsumer consumer) {
+    var minX = SectionPos.blockToSectionCoord(box.minX());
+    var maxX = SectionPos.blockToSectionCoord(box.maxX());
+    var minZ = SectionPos.blockToSectionCoord(box.minZ());
+    var maxZ = SectionPos.blockToSectionCoord(box.maxZ());
+    for (var x = minX; x <= maxX; x++) {
+      for (var z = minZ; z <= maxZ; z++) {
+        consumer.accept(ChunkPos.asLong(x, z));
+      }
+    }
+  }
+}
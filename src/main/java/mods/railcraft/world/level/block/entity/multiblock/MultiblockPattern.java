@@ -7,16 +7,17 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.function.BiConsumer;
 import org.jetbrains.annotations.Nullable;
 import com.google.common.collect.ImmutableMap;
 import it.unimi.dsi.fastutil.chars.Char2ObjectMap;
 import it.unimi.dsi.fastutil.chars.Char2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.chars.CharList;
+import it.unimi.dsi.fastutil.ints.IntLinkedOpenHashSet;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Vec3i;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
 import net.minecraft.world.phys.AABB;
 
 /**
@@ -32,6 +33,11 @@ public class MultiblockPattern<T> {
   private final Char2ObjectMap<BlockPredicate> predicates;
   @Nullable
   private final AABB entityCheckBounds;
+  // The cells to verify, ordered so the ones telling apart patterns of different extents go first
+  private final int[] checkX;
+  private final int[] checkY;
+  private final int[] checkZ;
+  private final BlockPredicate[] checkPredicates;
 
   @Nullable
   private final T metadata;
@@ -58,6 +64,49 @@ public class MultiblockPattern<T> {
         }
       }
     }
+
+    var checkOrder = checkOrder(this.xSize, this.ySize, this.zSize);
+    this.checkX = new int[checkOrder.length];
+    this.checkY = new int[checkOrder.length];
+    this.checkZ = new int[checkOrder.length];
+    this.checkPredicates = new BlockPredicate[checkOrder.length];
+    for (var i = 0; i < checkOrder.length; i++) {
+      var x = checkOrder[i] % this.xSize;
+      var z = checkOrder[i] / this.xSize % this.zSize;
+      var y = checkOrder[i] / (this.xSize * this.zSize);
+      this.checkX[i] = x;
+      this.checkY[i] = y;
+      this.checkZ[i] = z;
+      this.checkPredicates[i] = this.predicates.get(this.pattern[y][z][x]);
+    }
+  }
+
+  /**
+   * Orders the cells of a pattern, as {@code (y * zSize + z) * xSize + x} indices, so that its
+   * corners and face centres come first. Candidate patterns mostly differ in their extents, which
+   * those cells measure, so a structure of another size is usually rejected within a few blocks.
+   */
+  private static int[] checkOrder(int xSize, int ySize, int zSize) {
+    var order = new IntLinkedOpenHashSet(xSize * ySize * zSize);
+    int maxX = xSize - 1, maxY = ySize - 1, maxZ = zSize - 1;
+    for (var y : new int[] {0, maxY}) {
+      for (var z : new int[] {0, maxZ}) {
+        for (var x : new int[] {0, maxX}) {
+          order.add((y * zSize + z) * xSize + x);
+        }
+      }
+    }
+    int midX = maxX / 2, midY = maxY / 2, midZ = maxZ / 2;
+    order.add((midY * zSize) * xSize + midX);
+    order.add((midY * zSize + maxZ) * xSize + midX);
+    order.add((midY * zSize + midZ) * xSize);
+    order.add((midY * zSize + midZ) * xSize + maxX);
+    order.add(midZ * xSize + midX);
+    order.add((maxY * zSize + midZ) * xSize + midX);
+    for (var i = 0; i < xSize * ySize * zSize; i++) {
+      order.add(i);
+    }
+    return order.toIntArray();
   }
 
   public MultiblockPattern<T> rotateClockwise() {
@@ -115,26 +164,70 @@ public class MultiblockPattern<T> {
         && blockPos.getZ() >= minPos.getZ();
   }
 
+  /**
+   * Gets the blocks covered by this pattern when resolved from the specified master position.
+   *
+   * @param masterPos - the position of the master
+   * @return the bounds of the pattern
+   */
+  public BoundingBox getBounds(BlockPos masterPos) {
+    var minPos = masterPos.subtract(this.masterOffset);
+    return new BoundingBox(minPos.getX(), minPos.getY(), minPos.getZ(),
+        minPos.getX() + this.xSize - 1,
+        minPos.getY() + this.ySize - 1,
+        minPos.getZ() + this.zSize - 1);
+  }
+
+  /**
+   * Determine if the block at the specified position satisfies the pattern marker it falls on when
+   * the pattern is resolved from the specified master position.
+   *
+   * @param blockPos - the position of the block to check
+   * @param masterPos - the position of the master
+   * @param level - the level
+   * @return <code>false</code> if the block is outside the pattern or doesn't match its marker,
+   *         <code>true</code> otherwise
+   */
+  public boolean matches(BlockPos blockPos, BlockPos masterPos, ServerLevel level) {
+    var relativePos = blockPos.subtract(masterPos.subtract(this.masterOffset));
+    return this.isValidPosition(relativePos)
+        && this.predicates.get(this.getMarker(relativePos)).test(level, blockPos);
+  }
+
   private boolean checkForEntities(BlockPos blockPos, ServerLevel level) {
     return this.entityCheckBounds == null
         || level.getEntitiesOfClass(LivingEntity.class, this.entityCheckBounds.move(blockPos))
             .isEmpty();
   }
 
+  /**
+   * Determine if every block of this pattern matches when resolved from the specified master
+   * position, stopping at the first one that doesn't.
+   */
+  private boolean verify(BlockPos originPos, ServerLevel level) {
+    var pos = new BlockPos.MutableBlockPos();
+    for (var i = 0; i < this.checkPredicates.length; i++) {
+      pos.setWithOffset(originPos, this.checkX[i], this.checkY[i], this.checkZ[i]);
+      if (!this.checkPredicates[i].test(level, pos)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   public Optional<Map<BlockPos, Element>> resolve(BlockPos blockPos, ServerLevel level) {
-    if (!this.checkForEntities(blockPos, level)) {
+    var originPos = blockPos.subtract(this.masterOffset);
+    // Blocks are checked first as they rule out most candidates for far less than an entity search
+    if (!this.verify(originPos, level) || !this.checkForEntities(blockPos, level)) {
       return Optional.empty();
     }
 
-    var originPos = blockPos.subtract(this.masterOffset);
     Map<BlockPos, Element> map = new HashMap<>(this.getArea());
-
     for (var x = 0; x < this.xSize; x++) {
       for (var y = 0; y < this.ySize; y++) {
         for (var z = 0; z < this.zSize; z++) {
-          if (!this.resolveElement(originPos, x, y, z, level, map::put)) {
-            return Optional.empty();
-          }
+          map.put(originPos.offset(x, y, z),
+              new Element(new BlockPos(x, y, z), this.pattern[y][z][x]));
         }
       }
     }
@@ -142,18 +235,6 @@ public class MultiblockPattern<T> {
     return Optional.of(map);
   }
 
-  private boolean resolveElement(BlockPos originPos, int x, int y, int z,
-      ServerLevel level, BiConsumer<BlockPos, Element> consumer) {
-    var marker = this.pattern[y][z][x];
-    var predicate = this.predicates.get(marker);
-    var pos = originPos.offset(x, y, z);
-    if (!predicate.test(level, pos)) {
-      return false;
-    }
-    consumer.accept(pos, new Element(new BlockPos(x, y, z), marker));
-    return true;
-  }
-
   public record Element(BlockPos relativePos, char marker) {}
 
   private static AABB rotateBoundingBoxClockwise(AABB boundingBox) {
@@ -45,6 +45,12 @@ public class BlockSignalBlockEntity extends AbstractSignalBlockEntity
     }
   }
 
+  @Override
+  public void setRemoved() {
+    super.setRemoved();
+    this.blockSignal.removed();
+  }
+
   @Override
   public SignalAspect getPrimarySignalAspect() {
     return this.blockSignal.aspect();
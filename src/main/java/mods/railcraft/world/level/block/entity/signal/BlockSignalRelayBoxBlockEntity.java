@@ -41,6 +41,12 @@ public class BlockSignalRelayBoxBlockEntity extends ActionSignalBoxBlockEntity
     this.blockSignal.refresh();
   }
 
+  @Override
+  public void setRemoved() {
+    super.setRemoved();
+    this.blockSignal.removed();
+  }
+
   private void signalAspectChanged(SignalAspect signalAspect) {
     this.signalController.setSignalAspect(signalAspect);
     this.updateNeighborSignalBoxes(false);
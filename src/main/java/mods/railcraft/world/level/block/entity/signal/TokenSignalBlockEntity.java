@@ -2,12 +2,12 @@ package mods.railcraft.world.level.block.entity.signal;
 
 import java.util.Objects;
 import java.util.UUID;
+import mods.railcraft.api.carts.CartUtil;
 import mods.railcraft.api.signal.SignalAspect;
 import mods.railcraft.api.signal.SimpleSignalController;
 import mods.railcraft.api.signal.TokenSignalEntity;
 import mods.railcraft.api.signal.TrackLocator;
 import mods.railcraft.api.signal.entity.SignalControllerEntity;
-import mods.railcraft.util.EntitySearcher;
 import mods.railcraft.util.TimerBag;
 import mods.railcraft.world.level.block.entity.RailcraftBlockEntityTypes;
 import mods.railcraft.world.signal.SimpleTokenRing;
@@ -75,9 +75,9 @@ public class TokenSignalBlockEntity extends AbstractSignalBlockEntity
     if (blockEntity.trackLocator.trackStatus() == TrackLocator.Status.VALID) {
       var trackPos = blockEntity.trackLocator.trackPos();
       if (trackPos != null) {
-        EntitySearcher.findMinecarts()
-            .at(trackPos)
-            .stream(level)
+        CartUtil.occupancy((ServerLevel) level)
+            .cartsAt(trackPos)
+            .stream()
             .filter(cart -> blockEntity.cartTimers.add(cart.getUUID()))
             .forEach(tokenRing::markCart);
       }
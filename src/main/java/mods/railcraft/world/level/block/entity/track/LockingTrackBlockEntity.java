@@ -8,7 +8,6 @@ import mods.railcraft.api.carts.Train;
 import mods.railcraft.api.event.CartLockdownEvent;
 import mods.railcraft.api.track.LockingTrack;
 import mods.railcraft.api.track.RailShapeUtil;
-import mods.railcraft.util.EntitySearcher;
 import mods.railcraft.world.entity.vehicle.MinecartUtil;
 import mods.railcraft.world.level.block.entity.RailcraftBlockEntity;
 import mods.railcraft.world.level.block.entity.RailcraftBlockEntityTypes;
@@ -210,9 +209,8 @@ public class LockingTrackBlockEntity extends RailcraftBlockEntity implements Loc
         }
       } else if (this.trainLeaving && this.prevCart != null && this.prevCart.isAlive()) {
         var prevRollingStock = RollingStock.getOrThrow(this.prevCart);
-        if (EntitySearcher.findMinecarts()
-            .at(this.getBlockPos())
-            .stream(this.level)
+        if (MinecartUtil.cartsAt(this.level, this.getBlockPos())
+            .stream()
             .map(RollingStock::getOrThrow)
             .anyMatch(cart -> cart.isSameTrainAs(prevRollingStock))) {
           this.trainDelay = TRAIN_LOCKDOWN_DELAY;
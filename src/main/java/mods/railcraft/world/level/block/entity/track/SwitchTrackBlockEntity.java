@@ -1,18 +1,21 @@
 package mods.railcraft.world.level.block.entity.track;
 
-import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.jetbrains.annotations.Nullable;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import mods.railcraft.api.carts.CartOccupancy;
+import mods.railcraft.api.carts.CartUtil;
 import mods.railcraft.api.carts.RollingStock;
 import mods.railcraft.api.track.ArrowDirection;
 import mods.railcraft.api.track.SwitchActuator;
 import mods.railcraft.tags.RailcraftTags;
-import mods.railcraft.util.EntitySearcher;
-import mods.railcraft.world.entity.vehicle.MinecartUtil;
 import mods.railcraft.world.level.block.track.actuator.SwitchTrackActuatorBlock;
 import mods.railcraft.world.level.block.track.outfitted.SwitchTrackBlock;
 import net.minecraft.core.BlockPos;
@@ -32,14 +35,28 @@ import net.minecraft.world.level.block.state.BlockState;
 public abstract class SwitchTrackBlockEntity extends BlockEntity {
 
   private static final int SPRING_DURATION = 30;
-  protected Set<UUID> lockingCarts = new HashSet<>();
-  protected Set<UUID> springingCarts = new HashSet<>();
-  protected Set<UUID> decidingCarts = new HashSet<>();
+  /**
+   * How many blocks out along each entrance carts are looked for. The occupancy index only knows
+   * the block a cart is in, and on high speed track a cart moves up to 1.2 blocks a tick, so it
+   * could pass through a single entrance block between two ticks. Two blocks cover about as much
+   * track as searching the entrance block for overlapping cart bounding boxes, at the cost of
+   * seeing carts that are leaving through an entrance for one more block.
+   */
+  private static final int ENTRANCE_DEPTH = 2;
+  private final Set<AbstractMinecart> lockingCarts = new ReferenceOpenHashSet<>();
+  private final Set<AbstractMinecart> springingCarts = new ReferenceOpenHashSet<>();
+  private final Set<AbstractMinecart> decidingCarts = new ReferenceOpenHashSet<>();
   private byte sprung;
   private byte locked;
   @Nullable
   private RollingStock currentCart;
 
+  /**
+   * Carts loaded from NBT that haven't been resolved to entities yet, with the set each one goes
+   * in. Entities are loaded after block entities, so these are retried every tick until they turn
+   * up or the switch is released.
+   */
+  private final Map<UUID, Set<AbstractMinecart>> unresolvedCarts = new HashMap<>();
   @Nullable
   private UUID unresolvedCurrentCart;
 
@@ -49,6 +66,9 @@ public abstract class SwitchTrackBlockEntity extends BlockEntity {
 
   public static void serverTick(Level level, BlockPos blockPos, BlockState blockState,
       SwitchTrackBlockEntity blockEntity) {
+    var serverLevel = (ServerLevel) level;
+    blockEntity.resolveCarts(serverLevel);
+
     if (blockEntity.locked > 0) {
       blockEntity.locked--;
     }
@@ -62,27 +82,30 @@ public abstract class SwitchTrackBlockEntity extends BlockEntity {
       blockEntity.springingCarts.clear(); // these carts forever
       blockEntity.decidingCarts.clear();
       blockEntity.currentCart = null;
+      blockEntity.unresolvedCarts.clear();
+      blockEntity.unresolvedCurrentCart = null;
+    } else {
+      blockEntity.lockingCarts.removeIf(Entity::isRemoved);
+      blockEntity.springingCarts.removeIf(Entity::isRemoved);
+      blockEntity.decidingCarts.removeIf(Entity::isRemoved);
     }
 
     // updating carts we just found in appropriate sets
     // blockEntity keeps exiting carts from getting mixed up with entering carts
-    blockEntity.updateSet(blockEntity.lockingCarts, blockEntity.getCartsAtLockEntrance(),
-        blockEntity.springingCarts, blockEntity.decidingCarts);
-    blockEntity.updateSet(blockEntity.springingCarts, blockEntity.getCartsAtSpringEntrance(),
-        blockEntity.lockingCarts, blockEntity.decidingCarts);
-    blockEntity.updateSet(blockEntity.decidingCarts, blockEntity.getCartsAtDecisionEntrance(),
-        blockEntity.lockingCarts, blockEntity.springingCarts);
+    // The occupancy index is kept up to date by the carts themselves, so reading it costs no
+    // entity searches
+    var occupancy = CartUtil.occupancy(serverLevel);
+    blockEntity.updateEntrance(occupancy, blockEntity.getLockEntranceDirection(),
+        blockEntity.lockingCarts, blockEntity.springingCarts, blockEntity.decidingCarts);
+    blockEntity.updateEntrance(occupancy, blockEntity.getSpringEntranceDirection(),
+        blockEntity.springingCarts, blockEntity.lockingCarts, blockEntity.decidingCarts);
+    blockEntity.updateEntrance(occupancy, blockEntity.getDecisionEntranceDirection(),
+        blockEntity.decidingCarts, blockEntity.lockingCarts, blockEntity.springingCarts);
 
     // We only set sprung/locked when a cart enters our track, blockEntity is
     // mainly for visual purposes as the subclass's getRailDirectionRaw()
     // determines which direction the carts actually take.
-    List<AbstractMinecart> cartsOnTrack = EntitySearcher.findMinecarts()
-        .at(blockPos)
-        .inflate(-0.3f)
-        .list(blockEntity.getLevel());
-    Set<UUID> uuidOnTrack = cartsOnTrack.stream()
-        .map(Entity::getUUID)
-        .collect(Collectors.toSet());
+    var cartsOnTrack = occupancy.cartsAt(blockPos);
 
     AbstractMinecart bestCart = blockEntity.getBestCartForVisualState(cartsOnTrack);
 
@@ -95,9 +118,16 @@ public abstract class SwitchTrackBlockEntity extends BlockEntity {
     boolean switched = !blockEntity.isLocked() && (actuatorSwitched || blockEntity.isSprung());
 
     // Only allow cartsOnTrack to actually spring or lock the track
-    if (bestCart != null && uuidOnTrack.contains(bestCart.getUUID())) {
+    if (bestCart != null && cartsOnTrack.contains(bestCart)) {
       var rollingStock = RollingStock.getOrThrow(bestCart);
-      if (blockEntity.shouldSwitchForCart(rollingStock)) {
+      if (blockEntity.isDecidedFor(rollingStock)) {
+        // Nothing has changed for the cart we last decided for, just hold the switch for it
+        if (blockEntity.isSprung()) {
+          blockEntity.springTrack(rollingStock);
+        } else {
+          blockEntity.lockTrack(rollingStock);
+        }
+      } else if (blockEntity.shouldSwitchForCart(rollingStock)) {
         blockEntity.springTrack(rollingStock);
       } else {
         blockEntity.lockTrack(rollingStock);
@@ -128,26 +158,18 @@ public abstract class SwitchTrackBlockEntity extends BlockEntity {
   // carts based on distance.
   @Nullable
   private AbstractMinecart getBestCartForVisualState(
-      List<AbstractMinecart> cartsOnTrack) {
+      Collection<AbstractMinecart> cartsOnTrack) {
     if (!cartsOnTrack.isEmpty()) {
-      return cartsOnTrack.get(0);
+      return cartsOnTrack.iterator().next();
     } else {
       AbstractMinecart closestCart = null;
-      List<UUID> allCarts = new ArrayList<>();
-      allCarts.addAll(lockingCarts);
-      allCarts.addAll(springingCarts);
-      allCarts.addAll(decidingCarts);
-
-      for (UUID testCartUUID : allCarts) {
-        if (closestCart == null) {
-          closestCart = MinecartUtil.getCartFromUUID(this.level, testCartUUID);
-        } else {
-          double closestDist = crudeDistance(this.getBlockPos(), closestCart);
-          AbstractMinecart testCart = MinecartUtil.getCartFromUUID(this.level, testCartUUID);
-          if (testCart != null) {
-            double testDist = crudeDistance(this.getBlockPos(), testCart);
-            if (testDist < closestDist)
-              closestCart = testCart;
+      double closestDist = Double.MAX_VALUE;
+      for (var carts : List.of(this.lockingCarts, this.springingCarts, this.decidingCarts)) {
+        for (var testCart : carts) {
+          double testDist = crudeDistance(this.getBlockPos(), testCart);
+          if (testDist < closestDist) {
+            closestCart = testCart;
+            closestDist = testDist;
           }
         }
       }
@@ -155,11 +177,11 @@ public abstract class SwitchTrackBlockEntity extends BlockEntity {
     }
   }
 
-  protected abstract List<UUID> getCartsAtLockEntrance();
+  protected abstract Direction getLockEntranceDirection();
 
-  protected abstract List<UUID> getCartsAtSpringEntrance();
+  protected abstract Direction getSpringEntranceDirection();
 
-  protected abstract List<UUID> getCartsAtDecisionEntrance();
+  protected abstract Direction getDecisionEntranceDirection();
 
   public abstract Direction getActuatorDirection();
 
@@ -175,11 +197,11 @@ public abstract class SwitchTrackBlockEntity extends BlockEntity {
   public boolean shouldSwitchForCart(RollingStock rollingStock) {
     var entity = rollingStock.entity();
 
-    if (this.springingCarts.contains(entity.getUUID())) {
+    if (this.springingCarts.contains(entity)) {
       return true; // Carts at the spring entrance always are on switched tracks
     }
 
-    if (this.lockingCarts.contains(entity.getUUID())) {
+    if (this.lockingCarts.contains(entity)) {
       return false; // Carts at the locking entrance always are on locked tracks
     }
 
@@ -208,16 +230,46 @@ public abstract class SwitchTrackBlockEntity extends BlockEntity {
     return shouldSwitch;
   }
 
+  /**
+   * Whether the switch has been sprung or locked for the specified cart, and the cart hasn't since
+   * entered an entrance that would force a different decision.
+   */
+  private boolean isDecidedFor(RollingStock rollingStock) {
+    return (this.isSprung() || this.isLocked())
+        && rollingStock == this.currentCart()
+        && !this.springingCarts.contains(rollingStock.entity())
+        && !this.lockingCarts.contains(rollingStock.entity());
+  }
+
   @Nullable
   private RollingStock currentCart() {
-    if (this.unresolvedCurrentCart != null) {
-      var entity = ((ServerLevel) this.level).getEntity(this.unresolvedCurrentCart);
-      if (entity instanceof AbstractMinecart minecart) {
+    if (this.level instanceof ServerLevel serverLevel) {
+      this.resolveCarts(serverLevel);
+    }
+    return this.currentCart;
+  }
+
+  private void resolveCarts(ServerLevel level) {
+    if (!this.unresolvedCarts.isEmpty()) {
+      this.unresolvedCarts.entrySet().removeIf(entry -> {
+        if (level.getEntity(entry.getKey()) instanceof AbstractMinecart minecart) {
+          // The cart may have reached an entrance since, which is more recent than what was saved
+          if (!this.lockingCarts.contains(minecart) && !this.springingCarts.contains(minecart)
+              && !this.decidingCarts.contains(minecart)) {
+            entry.getValue().add(minecart);
+          }
+          return true;
+        }
+        return false;
+      });
+    }
+    if (this.unresolvedCurrentCart != null
+        && level.getEntity(this.unresolvedCurrentCart) instanceof AbstractMinecart minecart) {
+      if (this.currentCart == null) {
         this.currentCart = RollingStock.getOrThrow(minecart);
       }
       this.unresolvedCurrentCart = null;
     }
-    return this.currentCart;
   }
 
   private void springTrack(RollingStock cartOnTrack) {
@@ -245,46 +297,64 @@ public abstract class SwitchTrackBlockEntity extends BlockEntity {
     super.saveAdditional(tag);
     tag.putByte("sprung", this.sprung);
     tag.putByte("locked", this.locked);
-    tag.put("springingCarts", this.springingCarts.stream()
-        .map(NbtUtils::createUUID)
-        .collect(Collectors.toCollection(ListTag::new)));
-    tag.put("lockingCarts", this.lockingCarts.stream()
-        .map(NbtUtils::createUUID)
-        .collect(Collectors.toCollection(ListTag::new)));
-    tag.put("decidingCarts", this.decidingCarts.stream()
-        .map(NbtUtils::createUUID)
-        .collect(Collectors.toCollection(ListTag::new)));
-    if (this.currentCart != null) {
-      tag.putUUID("currentCart", this.currentCart.entity().getUUID());
+    tag.put("springingCarts", this.saveCarts(this.springingCarts));
+    tag.put("lockingCarts", this.saveCarts(this.lockingCarts));
+    tag.put("decidingCarts", this.saveCarts(this.decidingCarts));
+    var currentCart = this.currentCart == null
+        ? this.unresolvedCurrentCart
+        : this.currentCart.entity().getUUID();
+    if (currentCart != null) {
+      tag.putUUID("currentCart", currentCart);
     }
   }
 
+  private ListTag saveCarts(Set<AbstractMinecart> carts) {
+    var unresolved = this.unresolvedCarts.entrySet().stream()
+        .filter(entry -> entry.getValue() == carts)
+        .map(Map.Entry::getKey);
+    return Stream.concat(carts.stream().map(Entity::getUUID), unresolved)
+        .map(NbtUtils::createUUID)
+        .collect(Collectors.toCollection(ListTag::new));
+  }
+
   @Override
   public void load(CompoundTag tag) {
     super.load(tag);
     this.sprung = tag.getByte("sprung");
     this.locked = tag.getByte("locked");
-    this.springingCarts = tag.getList("springingCarts", Tag.TAG_INT_ARRAY)
-        .stream()
-        .map(NbtUtils::loadUUID)
-        .collect(Collectors.toCollection(HashSet::new));
-    this.lockingCarts = tag.getList("lockingCarts", Tag.TAG_INT_ARRAY)
-        .stream()
-        .map(NbtUtils::loadUUID)
-        .collect(Collectors.toCollection(HashSet::new));
-    this.decidingCarts = tag.getList("decidingCarts", Tag.TAG_INT_ARRAY)
-        .stream()
-        .map(NbtUtils::loadUUID)
-        .collect(Collectors.toCollection(HashSet::new));
+    this.springingCarts.clear();
+    this.lockingCarts.clear();
+    this.decidingCarts.clear();
+    this.currentCart = null;
+    this.unresolvedCarts.clear();
+    this.loadCarts(tag.getList("springingCarts", Tag.TAG_INT_ARRAY), this.springingCarts);
+    this.loadCarts(tag.getList("lockingCarts", Tag.TAG_INT_ARRAY), this.lockingCarts);
+    this.loadCarts(tag.getList("decidingCarts", Tag.TAG_INT_ARRAY), this.decidingCarts);
     this.unresolvedCurrentCart = tag.hasUUID("currentCart") ? tag.getUUID("currentCart") : null;
   }
 
-  private void updateSet(Set<UUID> setToUpdate, List<UUID> potentialUpdates, Set<UUID> reject1,
-      Set<UUID> reject2) {
-    for (UUID cartUUID : potentialUpdates) {
-      reject1.remove(cartUUID);
-      reject2.remove(cartUUID);
-      setToUpdate.add(cartUUID);
+  private void loadCarts(ListTag uuids, Set<AbstractMinecart> carts) {
+    for (var uuid : uuids) {
+      this.unresolvedCarts.put(NbtUtils.loadUUID(uuid), carts);
+    }
+  }
+
+  private void updateEntrance(CartOccupancy occupancy, Direction entrance,
+      Set<AbstractMinecart> setToUpdate, Set<AbstractMinecart> reject1,
+      Set<AbstractMinecart> reject2) {
+    for (int i = 1; i <= ENTRANCE_DEPTH; i++) {
+      this.updateSet(setToUpdate, occupancy.cartsAt(this.getBlockPos().relative(entrance, i)),
+          reject1, reject2);
+    }
+  }
+
+  private void updateSet(Set<AbstractMinecart> setToUpdate,
+      Collection<AbstractMinecart> potentialUpdates, Set<AbstractMinecart> reject1,
+      Set<AbstractMinecart> reject2) {
+    for (var cart : potentialUpdates) {
+      reject1.remove(cart);
+      reject2.remove(cart);
+      setToUpdate.add(cart);
     }
   }
 
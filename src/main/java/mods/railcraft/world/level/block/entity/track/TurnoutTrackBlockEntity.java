@@ -1,9 +1,6 @@
 package mods.railcraft.world.level.block.entity.track;
 
-import java.util.List;
-import java.util.UUID;
 import mods.railcraft.api.track.ArrowDirection;
-import mods.railcraft.world.entity.vehicle.MinecartUtil;
 import mods.railcraft.world.level.block.entity.RailcraftBlockEntityTypes;
 import mods.railcraft.world.level.block.track.outfitted.SwitchTrackBlock;
 import mods.railcraft.world.level.block.track.outfitted.TurnoutTrackBlock;
@@ -43,27 +40,20 @@ public class TurnoutTrackBlockEntity extends SwitchTrackBlockEntity {
   }
 
   @Override
-  protected List<UUID> getCartsAtLockEntrance() {
-    return MinecartUtil.getMinecartUUIDsAt(this.level,
-        this.getBlockPos().relative(SwitchTrackBlock.getFacing(this.getBlockState())),
-        0.1F);
+  protected Direction getLockEntranceDirection() {
+    return SwitchTrackBlock.getFacing(this.getBlockState());
   }
 
   @Override
-  protected List<UUID> getCartsAtDecisionEntrance() {
-    return MinecartUtil.getMinecartUUIDsAt(this.level,
-        this.getBlockPos().relative(SwitchTrackBlock.getFacing(this.getBlockState()).getOpposite()),
-        0.1F);
+  protected Direction getDecisionEntranceDirection() {
+    return SwitchTrackBlock.getFacing(this.getBlockState()).getOpposite();
   }
 
   @Override
-  protected List<UUID> getCartsAtSpringEntrance() {
+  protected Direction getSpringEntranceDirection() {
     final Direction facing = SwitchTrackBlock.getFacing(this.getBlockState());
     final boolean mirrored = TurnoutTrackBlock.isMirrored(this.getBlockState());
-    return MinecartUtil.getMinecartUUIDsAt(this.level,
-        this.getBlockPos()
-            .relative(mirrored ? facing.getCounterClockWise() : facing.getClockWise()),
-        0.1F);
+    return mirrored ? facing.getCounterClockWise() : facing.getClockWise();
   }
 
   @Override
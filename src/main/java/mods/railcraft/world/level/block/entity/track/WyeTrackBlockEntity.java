@@ -1,9 +1,6 @@
 package mods.railcraft.world.level.block.entity.track;
 
-import java.util.List;
-import java.util.UUID;
 import mods.railcraft.api.track.ArrowDirection;
-import mods.railcraft.world.entity.vehicle.MinecartUtil;
 import mods.railcraft.world.level.block.entity.RailcraftBlockEntityTypes;
 import mods.railcraft.world.level.block.track.outfitted.SwitchTrackBlock;
 import net.minecraft.core.BlockPos;
@@ -36,26 +33,18 @@ public class WyeTrackBlockEntity extends SwitchTrackBlockEntity {
   }
 
   @Override
-  protected List<UUID> getCartsAtLockEntrance() {
-    return MinecartUtil.getMinecartUUIDsAt(this.level,
-        this.getBlockPos().relative(
-            SwitchTrackBlock.getFacing(this.getBlockState()).getClockWise()),
-        0.1F);
+  protected Direction getLockEntranceDirection() {
+    return SwitchTrackBlock.getFacing(this.getBlockState()).getClockWise();
   }
 
   @Override
-  protected List<UUID> getCartsAtDecisionEntrance() {
-    return MinecartUtil.getMinecartUUIDsAt(this.level,
-        this.getBlockPos().relative(SwitchTrackBlock.getFacing(this.getBlockState()).getOpposite()),
-        0.1F);
+  protected Direction getDecisionEntranceDirection() {
+    return SwitchTrackBlock.getFacing(this.getBlockState()).getOpposite();
   }
 
   @Override
-  protected List<UUID> getCartsAtSpringEntrance() {
-    return MinecartUtil.getMinecartUUIDsAt(this.level,
-        this.getBlockPos().relative(
-            SwitchTrackBlock.getFacing(this.getBlockState()).getCounterClockWise()),
-        0.1F);
+  protected Direction getSpringEntranceDirection() {
+    return SwitchTrackBlock.getFacing(this.getBlockState()).getCounterClockWise();
   }
 
   @Override
@@ -1,13 +1,10 @@
 package mods.railcraft.world.level.block.tank;
 
-import org.jetbrains.annotations.Nullable;
 import mods.railcraft.util.LevelUtil;
 import mods.railcraft.world.level.block.AbstractStrengthenedGlassBlock;
 import mods.railcraft.world.level.block.entity.multiblock.MultiblockBlockEntity;
-import mods.railcraft.world.level.block.entity.multiblock.MultiblockListener;
 import mods.railcraft.world.level.block.entity.tank.TankBlockEntity;
 import net.minecraft.core.BlockPos;
-import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.InteractionResult;
@@ -18,12 +15,10 @@ import net.minecraft.world.level.BlockGetter;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.EntityBlock;
-import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.block.state.StateDefinition;
 import net.minecraft.world.level.block.state.properties.BlockStateProperties;
 import net.minecraft.world.level.block.state.properties.IntegerProperty;
-import net.minecraft.world.level.gameevent.GameEventListener;
 import net.minecraft.world.phys.BlockHitResult;
 
 public abstract class TankGaugeBlock extends AbstractStrengthenedGlassBlock implements EntityBlock {
@@ -49,14 +44,6 @@ public abstract class TankGaugeBlock extends AbstractStrengthenedGlassBlock impl
     return false;
   }
 
-  @Nullable
-  @Override
-  public <T extends BlockEntity> GameEventListener getListener(ServerLevel level, T blockEntity) {
-    return blockEntity instanceof MultiblockBlockEntity<?, ?> multiblock
-        ? new MultiblockListener(multiblock)
-        : null;
-  }
-
   @Override
   public InteractionResult use(BlockState blockState, Level level,
       BlockPos pos, Player player, InteractionHand hand, BlockHitResult rayTraceResult) {
@@ -2,8 +2,7 @@ package mods.railcraft.world.level.block.track;
 
 import org.jetbrains.annotations.Nullable;
 import mods.railcraft.api.carts.RollingStock;
-import mods.railcraft.util.BoxBuilder;
-import mods.railcraft.util.EntitySearcher;
+import mods.railcraft.world.entity.vehicle.MinecartUtil;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.world.entity.Entity;
@@ -293,21 +292,21 @@ public class ElevatorTrackBlock extends Block {
     if (cart.level().getBlockState(pos).isSolid()) {
       return false;
     }
-    var axis = state.getValue(FACING).getAxis();
-    var factory = BoxBuilder.create().at(pos).expandAxis(axis, 1.0);
-    if (up) {
-      factory.raiseCeiling(0.5);
-      factory.raiseFloor(0.2);
-    } else {
-      factory.raiseCeiling(-0.2);
-      factory.raiseFloor(-0.5);
+    // The blocks either side along the ladder, at this level and the one being moved into
+    var direction = Direction.fromAxisAndDirection(state.getValue(FACING).getAxis(),
+        Direction.AxisDirection.POSITIVE);
+    var levelPos = up ? pos : pos.below();
+    for (int dy = 0; dy < 2; dy++) {
+      for (int offset = -1; offset <= 1; offset++) {
+        for (var other : MinecartUtil.cartsAt(cart.level(),
+            levelPos.above(dy).relative(direction, offset))) {
+          if (other != cart) {
+            return false;
+          }
+        }
+      }
     }
-
-    return EntitySearcher.findMinecarts()
-        .in(factory.build())
-        .except(cart)
-        .list(cart.level())
-        .isEmpty();
+    return true;
   }
 
   /**
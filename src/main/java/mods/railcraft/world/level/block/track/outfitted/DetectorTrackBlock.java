@@ -6,8 +6,8 @@ import java.util.function.Supplier;
 import mods.railcraft.Translations;
 import mods.railcraft.api.track.RailShapeUtil;
 import mods.railcraft.api.track.TrackType;
-import mods.railcraft.util.EntitySearcher;
 import mods.railcraft.world.entity.vehicle.CartConstants;
+import mods.railcraft.world.entity.vehicle.MinecartUtil;
 import net.minecraft.ChatFormatting;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
@@ -108,23 +108,26 @@ public class DetectorTrackBlock extends OutfittedTrackBlock {
   @Override
   public int getAnalogOutputSignal(BlockState blockState, Level level, BlockPos pos) {
     if (hasAnalogOutputSignal(blockState)) {
-      var carts = EntitySearcher.findMinecarts().at(pos).upTo(-0.2F).list(level);
-      if (!carts.isEmpty() && carts.get(0).getComparatorLevel() > -1) {
-        return carts.get(0).getComparatorLevel();
+      var carts = MinecartUtil.cartsAt(level, pos);
+      if (carts.isEmpty()) {
+        return 0;
       }
 
-      var commandCarts = EntitySearcher.find(MinecartCommandBlock.class)
-          .at(pos).upTo(-0.2F).list(level);
-
-      if (!commandCarts.isEmpty()) {
-        return commandCarts.get(0).getCommandBlock().getSuccessCount();
+      var firstCart = carts.iterator().next();
+      if (firstCart.getComparatorLevel() > -1) {
+        return firstCart.getComparatorLevel();
       }
 
-      var chestCarts = EntitySearcher.findMinecarts()
-          .at(pos).upTo(-0.2F).and(EntitySelector.CONTAINER_ENTITY_SELECTOR).list(level);
+      for (var cart : carts) {
+        if (cart instanceof MinecartCommandBlock commandCart) {
+          return commandCart.getCommandBlock().getSuccessCount();
+        }
+      }
 
-      if (!chestCarts.isEmpty()) {
-        return AbstractContainerMenu.getRedstoneSignalFromContainer((Container) chestCarts.get(0));
+      for (var cart : carts) {
+        if (EntitySelector.CONTAINER_ENTITY_SELECTOR.test(cart)) {
+          return AbstractContainerMenu.getRedstoneSignalFromContainer((Container) cart);
+        }
       }
     }
     return 0;
@@ -146,7 +149,8 @@ public class DetectorTrackBlock extends OutfittedTrackBlock {
     BI_DIRECTIONAL("bi_directional") {
       @Override
       protected void updatePowerState(BlockState blockState, Level level, BlockPos blockPos) {
-        setTrackPowering(blockState, level, blockPos, !findCarts(level, blockPos).isEmpty());
+        setTrackPowering(blockState, level, blockPos,
+            !MinecartUtil.cartsAt(level, blockPos).isEmpty());
       }
     },
     TRAVEL("travel") {
@@ -170,7 +174,7 @@ public class DetectorTrackBlock extends OutfittedTrackBlock {
 
     protected static void updatePowerState(BlockState blockState, Level level, BlockPos blockPos,
         boolean reversed) {
-      List<AbstractMinecart> carts = findCarts(level, blockPos);
+      var carts = MinecartUtil.cartsAt(level, blockPos);
       if (carts.isEmpty()) {
         setTrackPowering(blockState, level, blockPos, false);
         return;
@@ -197,10 +201,6 @@ public class DetectorTrackBlock extends OutfittedTrackBlock {
       }
     }
 
-    private static List<AbstractMinecart> findCarts(Level level, BlockPos blockPos) {
-      return EntitySearcher.findMinecarts().at(blockPos).upTo(-0.2F).list(level);
-    }
-
     @Override
     public String getSerializedName() {
       return this.name;
@@ -1,9 +1,16 @@
 package mods.railcraft.world.level.block.track.outfitted;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.function.Supplier;
+import org.jetbrains.annotations.Nullable;
 import mods.railcraft.api.track.PoweredTrack;
 import mods.railcraft.api.track.TrackType;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
 import net.minecraft.world.item.context.BlockPlaceContext;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.BaseRailBlock;
@@ -61,7 +68,10 @@ public abstract class PoweredOutfittedTrackBlock extends OutfittedTrackBlock
   public void onPlace(BlockState state, Level level, BlockPos pos, BlockState oldState,
       boolean moved) {
     super.onPlace(state, level, pos, oldState, moved);
-    this.testPower(state, level, pos);
+    // Power changes are placements too, those are handled by whoever set the power
+    if (!oldState.is(state.getBlock())) {
+      this.testPower(state, level, pos);
+    }
   }
 
   @Override
@@ -71,30 +81,132 @@ public abstract class PoweredOutfittedTrackBlock extends OutfittedTrackBlock
     this.testPower(state, level, pos);
   }
 
+  /**
+   * Recomputes the power of the tracks around the specified one. The contiguous segment of tracks
+   * able to pass power to each other is found in a single walk each way, and every track within
+   * reach of the specified one is set in a single batch. Only blocks outside that part of the
+   * segment are notified of the changes, so powering a long run of track doesn't cascade into
+   * every track re-walking the run as its neighbours change.
+   */
   protected final void testPower(BlockState state, Level level, BlockPos pos) {
-    boolean powered = level.getBestNeighborSignal(pos) > 0
-        || this.testPowerPropagation(level, pos, state,
-            this.getPowerPropagation(state, level, pos));
-    if (powered != this.isPowered(state, level, pos)) {
-      this.setPowered(state, level, pos, powered);
-      level.updateNeighbourForOutputSignal(pos, this);
+    if (level.isClientSide()) {
+      return;
+    }
+
+    var reach = this.getPowerPropagation(state, level, pos);
+    if (reach <= 0) {
+      var powered = level.hasNeighborSignal(pos);
+      if (powered != this.isPowered(state, level, pos)) {
+        this.setPowered(state, level, pos, powered);
+        level.updateNeighbourForOutputSignal(pos, this);
+      }
+      return;
+    }
+
+    // Tracks within reach may be powered by sources up to twice as far away
+    var segment = new ArrayList<Track>();
+    this.walkSegment(level, pos, state, true, 2 * reach, segment);
+    Collections.reverse(segment);
+    var origin = segment.size();
+    segment.add(new Track(pos, state));
+    this.walkSegment(level, pos, state, false, 2 * reach, segment);
+
+    var size = segment.size();
+    var reaches = new int[size];
+    var direct = new boolean[size];
+    var signalAbove = new boolean[size];
+    for (var i = 0; i < size; i++) {
+      var track = segment.get(i);
+      reaches[i] = ((PoweredTrack) track.state.getBlock())
+          .getPowerPropagation(track.state, level, track.pos);
+      direct[i] = level.hasNeighborSignal(track.pos);
+      signalAbove[i] = level.hasNeighborSignal(track.pos.above());
+    }
+
+    // A track with a signal above it only passes power on when powered itself, which it can only
+    // be through another track, so it's only counted as a source once the direct sources are known
+    var powered = computePower(reaches, direct, direct);
+    var sources = new boolean[size];
+    for (var i = 0; i < size; i++) {
+      sources[i] = direct[i] || signalAbove[i] && powered[i];
+    }
+    powered = computePower(reaches, direct, sources);
+
+    List<Track> changed = new ArrayList<>();
+    Set<BlockPos> applied = new HashSet<>();
+    var from = Math.max(0, origin - reach);
+    var to = Math.min(size - 1, origin + reach);
+    for (var i = from; i <= to; i++) {
+      var track = segment.get(i);
+      applied.add(track.pos);
+      if (track.state.getBlock() instanceof PoweredOutfittedTrackBlock block
+          && powered[i] != block.isPowered(track.state, level, track.pos)) {
+        changed.add(new Track(track.pos, track.state.setValue(POWERED, powered[i])));
+      }
+    }
+    if (changed.isEmpty()) {
+      return;
+    }
+
+    // Set without neighbour updates, the tracks in reach are already accounted for
+    for (var track : changed) {
+      level.setBlock(track.pos, track.state, Block.UPDATE_CLIENTS);
+    }
+    for (var track : changed) {
+      var block = track.state.getBlock();
+      for (var direction : Direction.values()) {
+        var neighborPos = track.pos.relative(direction);
+        if (!applied.contains(neighborPos)) {
+          level.neighborChanged(neighborPos, block, track.pos);
+        }
+      }
+      level.updateNeighbourForOutputSignal(track.pos, block);
     }
   }
 
-  private boolean testPowerPropagation(Level level, BlockPos pos,
-      BlockState state, int maxDist) {
-    return this.isConnectedRailPowered(level, pos, state, true, 0, maxDist)
-        || this.isConnectedRailPowered(level, pos, state, false, 0, maxDist);
+  /**
+   * Determines which tracks of a segment are powered, either directly or by a source within their
+   * reach along the segment.
+   */
+  private static boolean[] computePower(int[] reaches, boolean[] direct, boolean[] sources) {
+    var size = reaches.length;
+    // Number of sources in [0, i)
+    var sourceCounts = new int[size + 1];
+    for (var i = 0; i < size; i++) {
+      sourceCounts[i + 1] = sourceCounts[i] + (sources[i] ? 1 : 0);
+    }
+    var powered = new boolean[size];
+    for (var i = 0; i < size; i++) {
+      var min = Math.max(0, i - reaches[i]);
+      var max = Math.min(size - 1, i + reaches[i]);
+      var others = sourceCounts[max + 1] - sourceCounts[min] - (sources[i] ? 1 : 0);
+      powered[i] = direct[i] || others > 0;
+    }
+    return powered;
   }
 
-  private boolean isConnectedRailPowered(Level level, BlockPos pos,
-      BlockState state, boolean dir, int dist, int maxDist) {
-    if (dist >= maxDist) {
-      return false;
+  /**
+   * Follows the tracks able to pass power from the specified track in one direction, adding them
+   * to the segment in the order they are found.
+   */
+  private void walkSegment(Level level, BlockPos pos, BlockState state, boolean dir,
+      int maxDist, List<Track> segment) {
+    var current = new Track(pos, state);
+    for (var dist = 0; dist < maxDist; dist++) {
+      current = this.nextTrack(level, current.pos, current.state, dir);
+      if (current == null) {
+        return;
+      }
+      segment.add(current);
     }
-    boolean powered = true;
+  }
+
+  @Nullable
+  private Track nextTrack(Level level, BlockPos pos, BlockState state, boolean dir) {
+    boolean checkBelow = true;
     BlockPos.MutableBlockPos newPos = pos.mutable();
-    RailShape railDirection = this.getRailDirection(state, level, pos, null);
+    RailShape railDirection = ((BaseRailBlock) state.getBlock())
+        .getRailDirection(state, level, pos, null);
     switch (railDirection) {
       case NORTH_SOUTH: // '\0'
         if (dir)
@@ -116,7 +228,7 @@ public abstract class PoweredOutfittedTrackBlock extends OutfittedTrackBlock
         else {
           newPos.setX(newPos.getX() + 1);
           newPos.setY(newPos.getY() + 1);
-          powered = false;
+          checkBelow = false;
         }
         railDirection = RailShape.EAST_WEST;
         break;
@@ -125,7 +237,7 @@ public abstract class PoweredOutfittedTrackBlock extends OutfittedTrackBlock
         if (dir) {
           newPos.setX(newPos.getX() - 1);
           newPos.setY(newPos.getY() + 1);
-          powered = false;
+          checkBelow = false;
         } else
           newPos.setX(newPos.getX() + 1);
         railDirection = RailShape.EAST_WEST;
@@ -137,7 +249,7 @@ public abstract class PoweredOutfittedTrackBlock extends OutfittedTrackBlock
         else {
           newPos.setZ(newPos.getZ() - 1);
           newPos.setY(newPos.getY() + 1);
-          powered = false;
+          checkBelow = false;
         }
         railDirection = RailShape.NORTH_SOUTH;
         break;
@@ -146,7 +258,7 @@ public abstract class PoweredOutfittedTrackBlock extends OutfittedTrackBlock
         if (dir) {
           newPos.setZ(newPos.getZ() + 1);
           newPos.setY(newPos.getY() + 1);
-          powered = false;
+          checkBelow = false;
         } else
           newPos.setZ(newPos.getZ() - 1);
         railDirection = RailShape.NORTH_SOUTH;
@@ -154,35 +266,37 @@ public abstract class PoweredOutfittedTrackBlock extends OutfittedTrackBlock
       default:
         break;
     }
-    return this.testPowered(level, newPos, dir, dist, maxDist, railDirection)
-        || (powered && this.testPowered(level, newPos.below(), dir, dist, maxDist, railDirection));
+    var next = this.connectedTrack(level, newPos.immutable(), railDirection);
+    return next == null && checkBelow
+        ? this.connectedTrack(level, newPos.below(), railDirection)
+        : next;
   }
 
-  private boolean testPowered(Level level, BlockPos blockPos, boolean dir,
-      int dist, int maxDist, RailShape prevOrientation) {
+  @Nullable
+  private Track connectedTrack(Level level, BlockPos blockPos, RailShape prevOrientation) {
     BlockState nextBlockState = level.getBlockState(blockPos);
     if (BaseRailBlock.isRail(nextBlockState)
-        && nextBlockState.getBlock() instanceof PoweredTrack nextBlock) {
+        && nextBlockState.getBlock() instanceof PoweredTrack) {
       var nextOrientation = ((BaseRailBlock) nextBlockState.getBlock())
           .getRailDirection(nextBlockState, level, blockPos, null);
       if (!(this.canPropagatePowerTo(nextBlockState)))
-        return false;
+        return null;
       if (prevOrientation == RailShape.EAST_WEST && (nextOrientation == RailShape.NORTH_SOUTH
           || nextOrientation == RailShape.ASCENDING_NORTH
           || nextOrientation == RailShape.ASCENDING_SOUTH))
-        return false;
+        return null;
       if (prevOrientation == RailShape.NORTH_SOUTH && (nextOrientation == RailShape.EAST_WEST
           || nextOrientation == RailShape.ASCENDING_EAST
           || nextOrientation == RailShape.ASCENDING_WEST))
-        return false;
-      if (nextBlock.isPowered(nextBlockState, level, blockPos))
-        return level.hasNeighborSignal(blockPos) || level.hasNeighborSignal(blockPos.above())
-            || this.isConnectedRailPowered(level, blockPos, nextBlockState, dir, dist + 1, maxDist);
+        return null;
+      return new Track(blockPos, nextBlockState);
     }
-    return false;
+    return null;
   }
 
   public static boolean isPowered(BlockState state) {
     return state.getValue(POWERED);
   }
+
+  private record Track(BlockPos pos, BlockState state) {}
 }
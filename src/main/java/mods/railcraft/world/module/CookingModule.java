@@ -4,7 +4,7 @@ import java.util.Objects;
 import java.util.Optional;
 import javax.annotation.OverridingMethodsMustInvokeSuper;
 import org.jetbrains.annotations.Nullable;
-import net.minecraft.world.SimpleContainer;
+import mods.railcraft.world.item.crafting.RecipeCache;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.AbstractCookingRecipe;
 import net.minecraft.world.item.crafting.RecipeType;
@@ -39,8 +39,7 @@ public abstract class CookingModule<R extends AbstractCookingRecipe, T extends M
   }
 
   protected Optional<R> getRecipeFor(ItemStack itemStack) {
-    return this.provider.level().getRecipeManager()
-        .getRecipeFor(this.getRecipeType(), new SimpleContainer(itemStack), this.provider.level());
+    return RecipeCache.getRecipeFor(this.getRecipeType(), itemStack, this.provider.level());
   }
 
   @Override
@@ -10,11 +10,11 @@ import mods.railcraft.util.container.AdvancedContainer;
 import mods.railcraft.util.container.ContainerMapper;
 import mods.railcraft.world.item.crafting.CrusherRecipe;
 import mods.railcraft.world.item.crafting.RailcraftRecipeTypes;
+import mods.railcraft.world.item.crafting.RecipeCache;
 import mods.railcraft.world.level.block.entity.CrusherBlockEntity;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.sounds.SoundSource;
-import net.minecraft.world.SimpleContainer;
 import net.minecraft.world.item.ItemStack;
 import net.minecraftforge.common.util.LazyOptional;
 import net.minecraftforge.energy.IEnergyStorage;
@@ -154,9 +154,8 @@ public class CrusherModule extends CrafterModule<CrusherBlockEntity> {
   }
 
   private Optional<CrusherRecipe> getRecipe(ItemStack itemStack) {
-    return provider.getLevel().getRecipeManager()
-        .getRecipeFor(RailcraftRecipeTypes.CRUSHING.get(),
-            new SimpleContainer(itemStack), provider.getLevel());
+    return RecipeCache.getRecipeFor(RailcraftRecipeTypes.CRUSHING.get(), itemStack,
+        provider.getLevel());
   }
 
   @Override
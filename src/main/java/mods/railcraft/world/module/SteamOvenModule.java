@@ -5,11 +5,11 @@ import java.util.stream.IntStream;
 import org.jetbrains.annotations.NotNull;
 import mods.railcraft.sounds.RailcraftSoundEvents;
 import mods.railcraft.util.container.ContainerMapper;
+import mods.railcraft.world.item.crafting.RecipeCache;
 import mods.railcraft.world.level.block.entity.SteamOvenBlockEntity;
 import mods.railcraft.world.level.material.RailcraftFluids;
 import mods.railcraft.world.level.material.StandardTank;
 import net.minecraft.sounds.SoundSource;
-import net.minecraft.world.SimpleContainer;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.RecipeType;
 import net.minecraft.world.item.crafting.SmeltingRecipe;
@@ -66,9 +66,7 @@ public class SteamOvenModule extends CrafterModule<SteamOvenBlockEntity> {
   }
 
   private Optional<SmeltingRecipe> getRecipe(ItemStack itemStack) {
-    return provider.getLevel().getRecipeManager()
-        .getRecipeFor(RecipeType.SMELTING,
-            new SimpleContainer(itemStack), provider.getLevel());
+    return RecipeCache.getRecipeFor(RecipeType.SMELTING, itemStack, provider.getLevel());
   }
 
   @Override
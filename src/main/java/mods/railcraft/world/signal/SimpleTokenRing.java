@@ -6,18 +6,16 @@ import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 import mods.railcraft.api.signal.SignalAspect;
 import mods.railcraft.api.signal.TokenRing;
 import mods.railcraft.api.signal.TokenSignalEntity;
 import mods.railcraft.util.BoxBuilder;
-import mods.railcraft.util.EntitySearcher;
 import mods.railcraft.util.MathUtil;
 import mods.railcraft.world.level.block.entity.signal.TokenSignalBlockEntity;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
-import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.vehicle.AbstractMinecart;
+import net.minecraft.world.phys.AABB;
 
 /**
  * <b> This network is only available on the server! </b>
@@ -31,6 +29,10 @@ public class SimpleTokenRing implements TokenRing {
   private final Set<BlockPos> peers = new HashSet<>();
   private final Set<UUID> trackedCarts = new HashSet<>();
   private BlockPos centroid = BlockPos.ZERO;
+  /**
+   * The area tracked carts must stay within, recomputed whenever the peers change.
+   */
+  private AABB bounds = new AABB(BlockPos.ZERO);
   private boolean linking;
 
   public SimpleTokenRing(ServerLevel level, TokenRingManager manager, UUID id) {
@@ -78,29 +80,22 @@ public class SimpleTokenRing implements TokenRing {
   }
 
   public void tick() {
-    if (!this.peers.isEmpty()) {
-      BlockPos origin = this.peers.stream().findAny().orElse(BlockPos.ZERO);
-      BoxBuilder aabbFactory = BoxBuilder.create().at(origin);
-      for (BlockPos pos : this.peers) {
-        aabbFactory.expandToCoordinate(pos);
-      }
-      aabbFactory.inflate(16).clampToWorld();
-      this.trackedCarts.retainAll(
-          EntitySearcher.findMinecarts()
-              .in(aabbFactory.build())
-              .stream(this.level)
-              .map(Entity::getUUID)
-              .collect(Collectors.toSet()));
+    // Tracked carts are looked up by id rather than searched for, so the cost depends on how many
+    // carts are in the ring and not on how far apart its peers are
+    if (this.trackedCarts.removeIf(cartId -> {
+      var entity = this.level.getEntity(cartId);
+      return !(entity instanceof AbstractMinecart cart)
+          || !cart.isAlive()
+          || !this.bounds.contains(cart.position());
+    })) {
+      this.manager.setDirty();
     }
   }
 
-  public boolean isOrphaned(ServerLevel level) {
-    return !this.peers.stream().map(this::peerAt).allMatch(Optional::isPresent);
-  }
-
   void loadSignals(Collection<BlockPos> signals) {
     this.peers.addAll(signals);
     this.centroid = MathUtil.centroid(signals);
+    this.bounds = this.computeBounds();
   }
 
   void loadCarts(Collection<UUID> carts) {
@@ -117,6 +112,16 @@ public class SimpleTokenRing implements TokenRing {
   private void signalsChanged() {
     this.manager.setDirty();
     this.centroid = MathUtil.centroid(this.peers);
+    this.bounds = this.computeBounds();
+  }
+
+  private AABB computeBounds() {
+    var origin = this.peers.stream().findAny().orElse(BlockPos.ZERO);
+    var aabbFactory = BoxBuilder.create().at(origin);
+    for (var pos : this.peers) {
+      aabbFactory.expandToCoordinate(pos);
+    }
+    return aabbFactory.inflate(16).clampToWorld().build();
   }
 
   public void markCart(AbstractMinecart cart) {
@@ -173,7 +178,12 @@ public class SimpleTokenRing implements TokenRing {
   @Override
   public boolean removePeer(BlockPos peerPos) {
     if (this.peers.remove(peerPos)) {
-      this.signalsChanged();
+      if (this.peers.isEmpty()) {
+        // The last peer is gone, nothing can refer to this ring any more
+        this.manager.removeTokenRing(this.id);
+      } else {
+        this.signalsChanged();
+      }
       return true;
     }
     return false;
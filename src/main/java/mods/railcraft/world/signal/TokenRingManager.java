@@ -30,9 +30,12 @@ public class TokenRingManager extends SavedData {
     for (int i = 0; i < tokenRingList.size(); i++) {
       var entry = tokenRingList.getCompound(i);
       var id = entry.getUUID("id");
+      var signalList = entry.getList("signals", Tag.TAG_COMPOUND);
+      if (signalList.isEmpty()) {
+        continue;
+      }
       var tokenRing = new SimpleTokenRing(this.level, this, id);
       this.tokenRings.put(id, tokenRing);
-      var signalList = entry.getList("signals", Tag.TAG_COMPOUND);
       var signalPositions = signalList.stream()
           .map(CompoundTag.class::cast)
           .map(NbtUtils::readBlockPos)
@@ -75,9 +78,6 @@ public class TokenRingManager extends SavedData {
     this.clock++;
     if (this.clock >= 32) {
       this.clock = 0;
-      if (this.tokenRings.entrySet().removeIf(e -> e.getValue().isOrphaned(level))) {
-        this.setDirty();
-      }
       this.tokenRings.values().forEach(SimpleTokenRing::tick);
     }
   }
@@ -87,6 +87,17 @@ public class TokenRingManager extends SavedData {
         __ -> new SimpleTokenRing(this.level, this, id, origin));
   }
 
+  /**
+   * Forgets a token ring once its last peer has been removed.
+   *
+   * @param id - the ring's id
+   */
+  void removeTokenRing(UUID id) {
+    if (this.tokenRings.remove(id) != null) {
+      this.setDirty();
+    }
+  }
+
   public Collection<SimpleTokenRing> getTokenRings() {
     return this.tokenRings.values();
   }
@@ -0,0 +1,143 @@
+package mods.railcraft.world.signal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongConsumer;
+import com.google.common.collect.MapMaker;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import mods.railcraft.api.track.TrackScanUtil;
+import mods.railcraft.api.track.TrackSections;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
+
+/**
+ * Per-level cache of scanned track sections, indexed by chunk so a block change only invalidates
+ * the sections whose span contains it.
+ */
+public final class TrackSectionsImpl implements TrackSections {
+
+  private static final Map<ServerLevel, TrackSectionsImpl> sections =
+      new MapMaker().weakKeys().makeMap();
+
+  private final ServerLevel level;
+  private final Map<Section, Entry> entries = new HashMap<>();
+  private final Long2ObjectMap<List<Entry>> byChunk = new Long2ObjectOpenHashMap<>();
+
+  private TrackSectionsImpl(ServerLevel level) {
+    this.level = level;
+  }
+
+  public static TrackSectionsImpl get(ServerLevel level) {
+    return sections.computeIfAbsent(level, TrackSectionsImpl::new);
+  }
+
+  @Override
+  public TrackScanUtil.Result scan(BlockPos start, BlockPos end) {
+    var section = Section.of(start, end);
+    var entry = this.entries.get(section);
+    if (entry != null) {
+      return entry.result;
+    }
+    var result = TrackScanUtil.scanStraightTrackSection(this.level,
+        BlockPos.of(section.start), BlockPos.of(section.end));
+    // Loading a chunk doesn't notify us, so a scan that stopped at one can't be kept
+    if (!result.status().unknown()) {
+      var newEntry = new Entry(section, result, section.span(result));
+      this.entries.put(section, newEntry);
+      forEachChunk(newEntry.span,
+          chunk -> this.byChunk.computeIfAbsent(chunk, __ -> new ArrayList<>()).add(newEntry));
+    }
+    return result;
+  }
+
+  @Override
+  public void forget(BlockPos start, BlockPos end) {
+    var entry = this.entries.remove(Section.of(start, end));
+    if (entry != null) {
+      this.unindex(entry);
+    }
+  }
+
+  /**
+   * Invalidates every section whose span contains the specified position.
+   *
+   * @param blockPos - the position of the changed block
+   */
+  public void blockChanged(BlockPos blockPos) {
+    var entries = this.byChunk.get(ChunkPos.asLong(
+        SectionPos.blockToSectionCoord(blockPos.getX()),
+        SectionPos.blockToSectionCoord(blockPos.getZ())));
+    if (entries == null) {
+      return;
+    }
+    List<Entry> invalidated = null;
+    for (var entry : entries) {
+      if (entry.span.isInside(blockPos)) {
+        if (invalidated == null) {
+          invalidated = new ArrayList<>(1);
+        }
+        invalidated.add(entry);
+      }
+    }
+    if (invalidated != null) {
+      for (var entry : invalidated) {
+        this.entries.remove(entry.section);
+        this.unindex(entry);
+      }
+    }
+  }
+
+  private void unindex(Entry entry) {
+    forEachChunk(entry.span, chunk -> {
+      var entries = this.byChunk.get(chunk);
+      if (entries != null && entries.remove(entry) && entries.isEmpty()) {
+        this.byChunk.remove(chunk);
+      }
+    });
+  }
+
+  private static void forEachChunk(BoundingBox box, LongConsumer consumer) {
+    var minX = SectionPos.blockToSectionCoord(box.minX());
+    var maxX = SectionPos.blockToSectionCoord(box.maxX());
+    var minZ = SectionPos.blockToSectionCoord(box.minZ());
+    var maxZ = SectionPos.blockToSectionCoord(box.maxZ());
+    for (var x = minX; x <= maxX; x++) {
+      for (var z = minZ; z <= maxZ; z++) {
+        consumer.accept(ChunkPos.asLong(x, z));
+      }
+    }
+  }
+
+  /**
+   * A section between two packed rail positions, ordered so either direction gives the same key.
+   */
+  private record Section(long start, long end) {
+
+    private static Section of(BlockPos start, BlockPos end) {
+      var a = start.asLong();
+      var b = end.asLong();
+      return a <= b ? new Section(a, b) : new Section(b, a);
+    }
+
+    /**
+     * The blocks a scan looks at, including those above and below the rails it followed.
+     */
+    private BoundingBox span(TrackScanUtil.Result result) {
+      return new BoundingBox(
+          Math.min(BlockPos.getX(this.start), BlockPos.getX(this.end)),
+          result.minY() - 1,
+          Math.min(BlockPos.getZ(this.start), BlockPos.getZ(this.end)),
+          Math.max(BlockPos.getX(this.start), BlockPos.getX(this.end)),
+          result.maxY() + 1,
+          Math.max(BlockPos.getZ(this.start), BlockPos.getZ(this.end)));
+    }
+  }
+
+  private record Entry(Section section, TrackScanUtil.Result result, BoundingBox span) {}
+}
@@ -0,0 +1,183 @@
+package mods.railcraft;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import mods.railcraft.api.charge.Charge;
+import mods.railcraft.api.core.RailcraftConstants;
+import mods.railcraft.charge.ChargeNetworkImpl;
+import mods.railcraft.world.level.block.RailcraftBlocks;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraftforge.gametest.GameTestHolder;
+import net.minecraftforge.gametest.PrefixGameTestTemplate;
+
+@GameTestHolder(RailcraftConstants.ID)
+@PrefixGameTestTemplate(false)
+public class ChargeNetworkTest {
+
+  private static final int BATTERY_CAPACITY = 100000;
+
+  @GameTest(template = "empty_floor")
+  public static void cutWireLine(GameTestHelper helper) {
+    var batteryA = new BlockPos(1, 1, 2);
+    var batteryB = new BlockPos(5, 1, 2);
+    var cut = new BlockPos(3, 1, 2);
+    helper.setBlock(batteryA, RailcraftBlocks.NICKEL_IRON_BATTERY.get());
+    for (int x = 2; x <= 4; x++) {
+      helper.setBlock(new BlockPos(x, 1, 2), RailcraftBlocks.FRAME.get());
+    }
+    helper.setBlock(batteryB, RailcraftBlocks.NICKEL_IRON_BATTERY.get());
+
+    var chargeBefore = new int[1];
+    helper.startSequence()
+        .thenExecuteAfter(2, () -> {
+          charge(helper, batteryA, 40000);
+          charge(helper, batteryB, 20000);
+          assertGridCount(helper, 1, batteryA, batteryB, cut);
+          assertCapacity(helper, batteryA, 2 * BATTERY_CAPACITY);
+          chargeBefore[0] = grid(helper, batteryA).getCharge();
+          helper.destroyBlock(cut);
+        })
+        .thenExecuteAfter(2, () -> {
+          assertGridCount(helper, 2, batteryA, batteryB, new BlockPos(2, 1, 2),
+              new BlockPos(4, 1, 2));
+          assertCapacity(helper, batteryA, BATTERY_CAPACITY);
+          assertCapacity(helper, batteryB, BATTERY_CAPACITY);
+          assertSplitCharge(helper, chargeBefore[0], batteryA, batteryB);
+        })
+        .thenSucceed();
+  }
+
+  @GameTest(template = "empty_floor")
+  public static void cutWireLoop(GameTestHelper helper) {
+    // A ring around (2, 1, 2) with a battery in opposite corners
+    var batteryA = new BlockPos(1, 1, 1);
+    var batteryB = new BlockPos(3, 1, 3);
+    var firstCut = new BlockPos(2, 1, 1);
+    var secondCut = new BlockPos(2, 1, 3);
+    for (int x = 1; x <= 3; x++) {
+      for (int z = 1; z <= 3; z++) {
+        if (x != 2 || z != 2) {
+          helper.setBlock(new BlockPos(x, 1, z), RailcraftBlocks.FRAME.get());
+        }
+      }
+    }
+    helper.setBlock(batteryA, RailcraftBlocks.NICKEL_IRON_BATTERY.get());
+    helper.setBlock(batteryB, RailcraftBlocks.NICKEL_IRON_BATTERY.get());
+
+    var chargeBefore = new int[1];
+    helper.startSequence()
+        .thenExecuteAfter(2, () -> {
+          charge(helper, batteryA, 40000);
+          charge(helper, batteryB, 20000);
+          assertGridCount(helper, 1, batteryA, batteryB, firstCut, secondCut);
+          helper.destroyBlock(firstCut);
+        })
+        .thenExecuteAfter(2, () -> {
+          // Still connected the other way around the ring
+          assertGridCount(helper, 1, batteryA, batteryB, secondCut);
+          assertCapacity(helper, batteryA, 2 * BATTERY_CAPACITY);
+          chargeBefore[0] = grid(helper, batteryA).getCharge();
+          helper.destroyBlock(secondCut);
+        })
+        .thenExecuteAfter(2, () -> {
+          assertGridCount(helper, 2, batteryA, batteryB, new BlockPos(1, 1, 3),
+              new BlockPos(3, 1, 1));
+          helper.assertTrue(grid(helper, batteryA) == grid(helper, new BlockPos(1, 1, 3)),
+              "Battery A should keep its side of the ring");
+          helper.assertTrue(grid(helper, batteryB) == grid(helper, new BlockPos(3, 1, 1)),
+              "Battery B should keep its side of the ring");
+          assertCapacity(helper, batteryA, BATTERY_CAPACITY);
+          assertCapacity(helper, batteryB, BATTERY_CAPACITY);
+          assertSplitCharge(helper, chargeBefore[0], batteryA, batteryB);
+        })
+        .thenSucceed();
+  }
+
+  @GameTest(template = "empty_floor")
+  public static void joinWireLines(GameTestHelper helper) {
+    var batteryA = new BlockPos(1, 1, 2);
+    var batteryB = new BlockPos(5, 1, 2);
+    var bridge = new BlockPos(4, 1, 2);
+    helper.setBlock(batteryA, RailcraftBlocks.NICKEL_IRON_BATTERY.get());
+    helper.setBlock(new BlockPos(2, 1, 2), RailcraftBlocks.FRAME.get());
+    helper.setBlock(new BlockPos(3, 1, 2), RailcraftBlocks.FRAME.get());
+    helper.setBlock(batteryB, RailcraftBlocks.NICKEL_IRON_BATTERY.get());
+
+    helper.startSequence()
+        .thenExecuteAfter(2, () -> {
+          charge(helper, batteryA, 40000);
+          charge(helper, batteryB, 20000);
+          assertGridCount(helper, 2, batteryA, batteryB);
+          helper.setBlock(bridge, RailcraftBlocks.FRAME.get());
+        })
+        .thenExecuteAfter(2, () -> {
+          assertGridCount(helper, 1, batteryA, batteryB, bridge);
+          assertCapacity(helper, batteryA, 2 * BATTERY_CAPACITY);
+          var stored = storedCharge(helper, batteryA) + storedCharge(helper, batteryB);
+          helper.assertTrue(grid(helper, batteryA).getCharge() == stored,
+              "Joined grid should hold the charge of both batteries");
+        })
+        .thenSucceed();
+  }
+
+  private static ChargeNetworkImpl network(GameTestHelper helper) {
+    return (ChargeNetworkImpl) Charge.distribution.network(helper.getLevel());
+  }
+
+  private static ChargeNetworkImpl.ChargeGrid grid(GameTestHelper helper, BlockPos pos) {
+    return network(helper).grid(helper.absolutePos(pos));
+  }
+
+  private static void charge(GameTestHelper helper, BlockPos pos, int charge) {
+    network(helper).access(helper.absolutePos(pos)).storage()
+        .orElseThrow()
+        .setEnergyStored(charge);
+  }
+
+  private static int storedCharge(GameTestHelper helper, BlockPos pos) {
+    return network(helper).access(helper.absolutePos(pos)).storage()
+        .orElseThrow()
+        .getEnergyStored();
+  }
+
+  private static void assertGridCount(GameTestHelper helper, int expected,
+      BlockPos... positions) {
+    Set<ChargeNetworkImpl.ChargeGrid> grids =
+        Collections.newSetFromMap(new IdentityHashMap<>());
+    for (var pos : positions) {
+      var grid = grid(helper, pos);
+      helper.assertFalse(grid.isNull(), "No grid at " + pos);
+      grids.add(grid);
+    }
+    helper.assertTrue(grids.size() == expected,
+        "Expected " + expected + " grids, found " + grids.size());
+  }
+
+  private static void assertCapacity(GameTestHelper helper, BlockPos pos, int expected) {
+    var capacity = grid(helper, pos).getCapacity();
+    helper.assertTrue(capacity == expected,
+        "Expected capacity " + expected + " at " + pos + ", found " + capacity);
+  }
+
+  /**
+   * Each side of a split keeps exactly the charge of its own batteries, and together they can't
+   * hold more than the grid did before.
+   */
+  private static void assertSplitCharge(GameTestHelper helper, int chargeBefore,
+      BlockPos... batteries) {
+    var total = 0;
+    for (var battery : List.of(batteries)) {
+      var charge = grid(helper, battery).getCharge();
+      helper.assertTrue(charge > 0, "Side of " + battery + " lost its charge");
+      helper.assertTrue(charge == storedCharge(helper, battery),
+          "Side of " + battery + " should hold its battery's charge");
+      total += charge;
+    }
+    helper.assertTrue(total <= chargeBefore,
+        "Split grids hold " + total + ", more than the " + chargeBefore + " before");
+  }
+}
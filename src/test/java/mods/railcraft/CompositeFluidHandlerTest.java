@@ -0,0 +1,59 @@
+package mods.railcraft;
+
+import mods.railcraft.api.core.RailcraftConstants;
+import mods.railcraft.util.CompositeFluidHandler;
+import mods.railcraft.world.level.material.StandardTank;
+import mods.railcraft.world.level.material.TankManager;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.world.level.material.Fluid;
+import net.minecraft.world.level.material.Fluids;
+import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.fluids.FluidType;
+import net.minecraftforge.gametest.GameTestHolder;
+import net.minecraftforge.gametest.PrefixGameTestTemplate;
+
+@GameTestHolder(RailcraftConstants.ID)
+@PrefixGameTestTemplate(false)
+public class CompositeFluidHandlerTest {
+
+  @GameTest(template = "empty_floor")
+  public static void multiTankHandlers(GameTestHelper helper) {
+    // Each tank gets its own capacity, fluid and amount so a wrong index shows up
+    var first = new TankManager(
+        tank(1, Fluids.WATER, 100),
+        tank(2, Fluids.LAVA, 200));
+    var second = new TankManager(
+        tank(3, Fluids.WATER, 300),
+        tank(4, Fluids.LAVA, 400),
+        tank(5, Fluids.WATER, 500));
+    var handler = new CompositeFluidHandler(first, second);
+
+    helper.assertTrue(handler.getTanks() == 5, "Expected 5 tanks, found " + handler.getTanks());
+    Fluid[] fluids = {Fluids.WATER, Fluids.LAVA, Fluids.WATER, Fluids.LAVA, Fluids.WATER};
+    for (int tank = 0; tank < fluids.length; tank++) {
+      var fluid = handler.getFluidInTank(tank);
+      helper.assertTrue(fluid.getFluid() == fluids[tank] && fluid.getAmount() == (tank + 1) * 100,
+          "Wrong fluid in tank " + tank + ": " + fluid.getAmount() + " " + fluid.getFluid());
+      var capacity = handler.getTankCapacity(tank);
+      helper.assertTrue(capacity == (tank + 1) * FluidType.BUCKET_VOLUME,
+          "Wrong capacity for tank " + tank + ": " + capacity);
+      var other = fluids[tank] == Fluids.WATER ? Fluids.LAVA : Fluids.WATER;
+      helper.assertTrue(handler.isFluidValid(tank, new FluidStack(fluids[tank], 1)),
+          "Tank " + tank + " should accept " + fluids[tank]);
+      helper.assertFalse(handler.isFluidValid(tank, new FluidStack(other, 1)),
+          "Tank " + tank + " should not accept " + other);
+    }
+
+    helper.assertTrue(handler.getFluidInTank(5).isEmpty(), "Tank past the end should be empty");
+    helper.assertTrue(handler.getTankCapacity(5) == 0, "Tank past the end should hold nothing");
+    helper.succeed();
+  }
+
+  private static StandardTank tank(int buckets, Fluid fluid, int amount) {
+    var tank = StandardTank.ofBuckets(buckets)
+        .setValidator(fluidStack -> fluidStack.getFluid() == fluid);
+    tank.setFluid(new FluidStack(fluid, amount));
+    return tank;
+  }
+}
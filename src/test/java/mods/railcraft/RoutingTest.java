@@ -1,6 +1,13 @@
 package mods.railcraft;
 
+import java.util.ArrayDeque;
+import java.util.List;
+import mods.railcraft.api.carts.RollingStock;
 import mods.railcraft.api.core.RailcraftConstants;
+import mods.railcraft.util.routing.RouterBlockEntity;
+import mods.railcraft.util.routing.RoutingLogic;
+import mods.railcraft.util.routing.RoutingLogicException;
+import mods.railcraft.util.routing.RoutingStatementParser;
 import mods.railcraft.world.entity.RailcraftEntityTypes;
 import mods.railcraft.world.entity.vehicle.locomotive.CreativeLocomotive;
 import mods.railcraft.world.entity.vehicle.locomotive.Locomotive;
@@ -52,6 +59,66 @@ public class RoutingTest {
     });
   }
 
+  @GameTest(template = "complex_routing")
+  public static void regexCondition(GameTestHelper helper) throws RoutingLogicException {
+    var statement = RoutingStatementParser.parse("Dest", true, "Dest?=Station/[AB]");
+    helper.assertTrue(statement.isRegex(), "Expected a regex statement");
+    helper.assertTrue(statement.value().equals("Station/[AB]"),
+        "Regex should not include the keyword, found " + statement.value());
+    helper.assertTrue(statement.pattern().matcher("Station/A").matches(),
+        "Regex should match Station/A");
+    helper.assertFalse(statement.pattern().matcher("Station/C").matches(),
+        "Regex should not match Station/C");
+
+    var plain = RoutingStatementParser.parse("Dest", true, "Dest=Station");
+    helper.assertFalse(plain.isRegex(), "Expected a plain statement");
+    helper.assertTrue(plain.value().equals("Station"),
+        "Value should not include the keyword, found " + plain.value());
+
+    try {
+      RoutingStatementParser.parse("Dest", false, "Dest?=Station/.*");
+      helper.fail("Regex should be rejected where it isn't supported");
+    } catch (RoutingLogicException expected) {}
+    try {
+      RoutingStatementParser.parse("Dest", true, "Dest?=Station/[");
+      helper.fail("Invalid regex should be rejected");
+    } catch (RoutingLogicException expected) {}
+
+    var logic = RoutingLogic.parseTable(new ArrayDeque<>(List.of("Dest?=Station/[AB]")));
+    RouterBlockEntity router = () -> false;
+    var train = helper.spawn(RailcraftEntityTypes.CREATIVE_LOCOMOTIVE.get(), SPAWN_POINT_A);
+    var rollingStock = RollingStock.getOrThrow(train);
+    train.setDestination("Station/B");
+    helper.assertTrue(logic.matches(router, rollingStock), "Station/B should match the regex");
+    train.setDestination("Station/C");
+    helper.assertFalse(logic.matches(router, rollingStock),
+        "Station/C should not match the regex");
+    helper.succeed();
+  }
+
+  @GameTest(template = "complex_routing")
+  public static void cachedDecisionFollowsDestination(GameTestHelper helper)
+      throws RoutingLogicException {
+    var logic = RoutingLogic.parseTable(new ArrayDeque<>(List.of("Dest=A")));
+    RouterBlockEntity router = () -> false;
+    var train = helper.spawn(RailcraftEntityTypes.CREATIVE_LOCOMOTIVE.get(), SPAWN_POINT_A);
+    var rollingStock = RollingStock.getOrThrow(train);
+
+    train.setDestination("A");
+    helper.assertTrue(logic.matches(router, rollingStock), "A should match");
+    // Asked again with nothing changed, the cached decision is used
+    helper.assertTrue(logic.matches(router, rollingStock), "A should still match");
+
+    train.setDestination("B");
+    helper.assertFalse(logic.matches(router, rollingStock),
+        "Decision should change with the destination");
+
+    train.setDestination("A");
+    helper.assertTrue(logic.matches(router, rollingStock),
+        "Decision should change back with the destination");
+    helper.succeed();
+  }
+
   private static CreativeLocomotive spawnNewLocomotive(GameTestHelper helper, BlockPos pos,
       String dest) {
     var train = helper.spawn(RailcraftEntityTypes.CREATIVE_LOCOMOTIVE.get(), pos);